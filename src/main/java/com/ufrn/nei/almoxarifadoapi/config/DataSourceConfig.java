@@ -0,0 +1,115 @@
+package com.ufrn.nei.almoxarifadoapi.config;
+
+import com.ufrn.nei.almoxarifadoapi.infra.datasource.ConnectionPoolMetrics;
+import com.ufrn.nei.almoxarifadoapi.infra.datasource.StatementCountingDataSource;
+import com.ufrn.nei.almoxarifadoapi.infra.datasource.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Um pool Hikari por carga de trabalho, cada um com seu tamanho:
+// - primary: spring.datasource.* e spring.datasource.hikari.*;
+// - replica (opcional, só com spring.datasource.replica.url): spring.datasource.replica.*;
+// - reporting: spring.datasource.reporting.*. Sem url própria, conecta na réplica ou, sem ela, no primário.
+@Configuration
+public class DataSourceConfig {
+    private static final String REPLICA = "spring.datasource.replica";
+    private static final String REPORTING = "spring.datasource.reporting";
+
+    @Value("${spring.datasource.replica.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    @Value("${request.statements.enabled:true}")
+    private boolean countStatements;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties,
+                                              ObjectProvider<JdbcConnectionDetails> connectionDetails,
+                                              ConnectionPoolMetrics metrics) {
+        HikariDataSource dataSource = pool("primary", properties, metrics);
+        connectionDetails.ifAvailable(details -> connect(dataSource, details));
+
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.datasource.replica.url")
+    public HikariDataSource replicaDataSource(Environment environment, ConnectionPoolMetrics metrics) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource dataSource = pool("replica", binder.bind(REPLICA, DataSourceProperties.class).get(), metrics);
+        dataSource.setReadOnly(true);
+        binder.bind(REPLICA + ".hikari", Bindable.ofInstance(dataSource));
+
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource reportingDataSource(Environment environment, DataSourceProperties primary,
+                                                ObjectProvider<JdbcConnectionDetails> connectionDetails,
+                                                ConnectionPoolMetrics metrics) {
+        Binder binder = Binder.get(environment);
+
+        DataSourceProperties properties = binder.bind(REPORTING, DataSourceProperties.class)
+                .orElseGet(DataSourceProperties::new);
+        boolean usePrimary = false;
+        if (properties.getUrl() == null) {
+            DataSourceProperties replica = binder.bind(REPLICA, DataSourceProperties.class).orElse(null);
+            usePrimary = replica == null || replica.getUrl() == null;
+            properties = usePrimary ? primary : replica;
+        }
+
+        HikariDataSource dataSource = pool("reporting", properties, metrics);
+        if (usePrimary) {
+            connectionDetails.ifAvailable(details -> connect(dataSource, details));
+        }
+        dataSource.setReadOnly(true);
+        binder.bind(REPORTING + ".hikari", Bindable.ofInstance(dataSource));
+
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica,
+                                 @Qualifier("reportingDataSource") DataSource reporting) {
+        DataSource routing =
+                new WorkloadRoutingDataSource(primary, replica.getIfAvailable(), reporting, readYourWritesWindow);
+
+        // A contagem fica por dentro do proxy lazy, então só conta conexões realmente obtidas
+        return new LazyConnectionDataSourceProxy(countStatements ? new StatementCountingDataSource(routing) : routing);
+    }
+
+    private HikariDataSource pool(String name, DataSourceProperties properties, ConnectionPoolMetrics metrics) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(name);
+        dataSource.setMetricsTrackerFactory(metrics);
+
+        return dataSource;
+    }
+
+    // Com @ServiceConnection (Testcontainers) a conexão do primário vem do contêiner, não de spring.datasource.url
+    private void connect(HikariDataSource dataSource, JdbcConnectionDetails details) {
+        dataSource.setJdbcUrl(details.getJdbcUrl());
+        dataSource.setUsername(details.getUsername());
+        dataSource.setPassword(details.getPassword());
+        dataSource.setDriverClassName(details.getDriverClassName());
+    }
+}
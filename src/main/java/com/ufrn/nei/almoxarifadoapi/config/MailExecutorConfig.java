@@ -0,0 +1,39 @@
+package com.ufrn.nei.almoxarifadoapi.config;
+
+import com.ufrn.nei.almoxarifadoapi.infra.mail.MailMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class MailExecutorConfig {
+    @Value("${mail.executor.core-size:2}")
+    private int coreSize;
+
+    @Value("${mail.executor.max-size:4}")
+    private int maxSize;
+
+    @Value("${mail.executor.queue-capacity:100}")
+    private int queueCapacity;
+
+    // Executor exclusivo para os envios de email. Quando está saturado quem envia é
+    // a própria thread que submeteu a tarefa, o que segura o despachante em vez de
+    // criar threads ou enfileirar sem limite.
+    @Bean(name = "mailExecutor")
+    public AsyncTaskExecutor mailExecutor(MailMetrics mailMetrics) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mail-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(mailMetrics);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
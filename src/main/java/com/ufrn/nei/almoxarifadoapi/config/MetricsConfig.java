@@ -0,0 +1,57 @@
+package com.ufrn.nei.almoxarifadoapi.config;
+
+import com.ufrn.nei.almoxarifadoapi.infra.cache.ItemCatalogCache;
+import com.ufrn.nei.almoxarifadoapi.infra.cache.SipacCodeIndex;
+import com.ufrn.nei.almoxarifadoapi.infra.mail.MailMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+// Expõe no Micrometer os contadores que os componentes já mantêm. As métricas HTTP, dos pools
+// Hikari, dos executores e do Hibernate são registradas pelo próprio Spring Boot.
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public MeterBinder mailMeterBinder(MailMetrics mailMetrics) {
+        return registry -> {
+            Gauge.builder("almoxarifado.mail.queued", mailMetrics, MailMetrics::getQueueDepth)
+                    .description("Envios aguardando no executor de emails")
+                    .register(registry);
+            Gauge.builder("almoxarifado.mail.active", mailMetrics, MailMetrics::getActiveSends)
+                    .description("Envios em andamento")
+                    .register(registry);
+            FunctionTimer.builder("almoxarifado.mail.send", mailMetrics,
+                            MailMetrics::getSendCount, MailMetrics::getTotalSendNanos, TimeUnit.NANOSECONDS)
+                    .description("Lotes enviados ao servidor SMTP")
+                    .register(registry);
+            FunctionCounter.builder("almoxarifado.mail.messages", mailMetrics,
+                            metrics -> metrics.getMessageCount() - metrics.getFailedMessageCount())
+                    .tag("outcome", "sent")
+                    .register(registry);
+            FunctionCounter.builder("almoxarifado.mail.messages", mailMetrics, MailMetrics::getFailedMessageCount)
+                    .tag("outcome", "failed")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder itemCacheMeterBinder(ItemCatalogCache itemCatalogCache, SipacCodeIndex sipacCodeIndex) {
+        return registry -> {
+            FunctionCounter.builder("almoxarifado.item.cache", itemCatalogCache, ItemCatalogCache::getHits)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("almoxarifado.item.cache", itemCatalogCache, ItemCatalogCache::getMisses)
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("almoxarifado.item.cache.size", itemCatalogCache, ItemCatalogCache::size)
+                    .register(registry);
+            Gauge.builder("almoxarifado.item.sipac.index.size", sipacCodeIndex, SipacCodeIndex::size)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.ufrn.nei.almoxarifadoapi.config;
+
+import com.ufrn.nei.almoxarifadoapi.infra.datasource.StatementCounter;
+import com.ufrn.nei.almoxarifadoapi.infra.datasource.WorkloadContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+@Configuration
+public class ReportingExecutorConfig {
+    @Value("${reporting.executor.core-size:2}")
+    private int coreSize;
+
+    @Value("${reporting.executor.max-size:4}")
+    private int maxSize;
+
+    @Value("${reporting.executor.queue-capacity:50}")
+    private int queueCapacity;
+
+    // Executor dos métodos @ReportingWorkload. Cheio, recusa a tarefa (503) em vez de segurar a
+    // thread da requisição: os relatórios esperam entre si, sem ocupar o restante da aplicação.
+    // As tarefas levam o usuário autenticado e o contador de statements da requisição, e usam o
+    // pool de conexões de relatórios.
+    @Bean(name = "reportingExecutor")
+    public ThreadPoolTaskExecutor reportingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("reporting-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setTaskDecorator(task ->
+                new DelegatingSecurityContextRunnable(StatementCounter.propagate(WorkloadContext.reporting(task))));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -2,6 +2,8 @@ package com.ufrn.nei.almoxarifadoapi.config;
 
 import com.ufrn.nei.almoxarifadoapi.infra.jwt.JwtAuthenticationEntryPoint;
 import com.ufrn.nei.almoxarifadoapi.infra.jwt.JwtAuthorizationFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,6 +17,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -28,6 +31,9 @@ import static org.springframework.security.web.util.matcher.AntPathRequestMatche
 @EnableWebMvc
 @Configuration
 public class SpringSecurityConfig {
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         return http
@@ -36,6 +42,8 @@ public class SpringSecurityConfig {
                 .httpBasic(basic -> basic.disable())
                 .cors(Customizer.withDefaults())
                 .authorizeHttpRequests(auth -> auth
+                        // A requisição original já passou pela autorização; o despacho assíncrono só devolve o resultado
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 antMatcher(HttpMethod.POST, "/api/v1/users"),
                                 antMatcher(HttpMethod.POST, "/api/v1/auth"),
@@ -43,8 +51,11 @@ public class SpringSecurityConfig {
                                 antMatcher("/docs-almoxarifado/**"),
                                 antMatcher("/swagger-ui.html"),
                                 antMatcher("/swagger-ui/**"),
-                                antMatcher("/webjars/**")
+                                antMatcher("/webjars/**"),
+                                antMatcher(HttpMethod.GET, "/actuator/health")
                         ).permitAll()
+                        // O scrape dispensa token só na porta de gerenciamento; na porta da API exige autenticação
+                        .requestMatchers(onManagementPort(antMatcher(HttpMethod.GET, "/actuator/prometheus"))).permitAll()
                         .anyRequest().authenticated()
                 ).sessionManagement(
                         session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
@@ -56,6 +67,10 @@ public class SpringSecurityConfig {
                 .build();
     }
 
+    private RequestMatcher onManagementPort(RequestMatcher matcher) {
+        return request -> managementPort > 0 && request.getLocalPort() == managementPort && matcher.matches(request);
+    }
+
     @Bean
     public JwtAuthorizationFilter jwtAuthorizationFilter() {
         return new JwtAuthorizationFilter();
@@ -1,7 +1,10 @@
 package com.ufrn.nei.almoxarifadoapi.controller;
 
+import com.ufrn.nei.almoxarifadoapi.dto.item.ItemCodeLookupDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.item.ItemCodeLookupResultDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.item.ItemDeleteDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.mapper.PageableMapper;
+import com.ufrn.nei.almoxarifadoapi.dto.pageable.CursorPageableDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.pageable.PageableDTO;
 import com.ufrn.nei.almoxarifadoapi.infra.RestErrorMessage;
 import com.ufrn.nei.almoxarifadoapi.repository.projection.ItemProjection;
@@ -17,6 +20,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -28,6 +33,7 @@ import com.ufrn.nei.almoxarifadoapi.dto.item.ItemUpdateDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.mapper.ItemMapper;
 import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
 import com.ufrn.nei.almoxarifadoapi.service.ItemService;
+import com.ufrn.nei.almoxarifadoapi.utils.CursorCodec;
 
 import jakarta.validation.Valid;
 
@@ -70,6 +76,42 @@ public class ItemController {
                 return ResponseEntity.status(HttpStatus.OK).body(page);
         }
 
+        @Operation(summary = "Buscar todos os itens (modo cursor).",
+                description = "Paginação por cursor, sem contagem total. Envie after vazio na primeira página e o valor de 'next' nas seguintes. " +
+                        "Requsição exige o uso de um bearer token. Acesso restrito a role='ADMIN', 'USER'.",
+                security = @SecurityRequirement(name = "security"),
+                parameters = {
+                        @Parameter(in = ParameterIn.QUERY, name = "after", required = true,
+                                content = @Content(schema = @Schema(type = "string")),
+                                description = "Cursor opaco retornado em 'next'. Vazio para a primeira página."
+                        ),
+                        @Parameter(in = ParameterIn.QUERY, name = "size",
+                                content = @Content(schema = @Schema(type = "integer", defaultValue = "20")),
+                                description = "Representa o total de elementos por página."
+                        ),
+                        @Parameter(in = ParameterIn.QUERY, name = "sort", hidden = true,
+                                array = @ArraySchema(schema = @Schema(type = "string", defaultValue = "id,asc")),
+                                description = "Representa a ordenação dos resultados. O id é sempre usado como último critério."
+                        ),
+                },
+                responses = {
+                        @ApiResponse(responseCode = "200", description = "Itens encontrados com sucesso",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageableDTO.class))),
+                        @ApiResponse(responseCode = "400", description = "Cursor inválido",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class))),
+                        @ApiResponse(responseCode = "401", description = "Usuário não está autenticado",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class)))
+                })
+        @GetMapping(params = "after")
+        @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+        public ResponseEntity<CursorPageableDTO> getAllItemsByCursor(@RequestParam String after, Pageable pageable) {
+                ScrollPosition position = CursorCodec.decode(after);
+                Window<ItemProjection> data = itemService.findAllItems(position, pageable);
+                CursorPageableDTO response = PageableMapper.toDto(data, position, pageable.getPageSize());
+
+                return ResponseEntity.status(HttpStatus.OK).body(response);
+        }
+
         @Operation(summary = "Buscar um item",
                 description = "Buscará um item pelo seu ID. Requsição exige o uso de um bearer token. Acesso restrito a role='ADMIN', 'USER'.",
                 security = @SecurityRequirement(name = "security"),
@@ -91,6 +133,27 @@ public class ItemController {
                 return ResponseEntity.status(HttpStatus.OK).body(item);
         }
 
+        @Operation(summary = "Buscar itens por códigos SIPAC.",
+                description = "Buscará de uma vez os itens de até 1000 códigos SIPAC lidos pelo leitor de código de barras. " +
+                        "Códigos repetidos são considerados uma vez e os não cadastrados são devolvidos em 'notFound'. " +
+                        "Requsição exige o uso de um bearer token. Acesso restrito a role='ADMIN', 'USER'.",
+                security = @SecurityRequirement(name = "security"),
+                responses = {
+                        @ApiResponse(responseCode = "200", description = "Códigos resolvidos com sucesso.",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ItemCodeLookupResultDTO.class))),
+                        @ApiResponse(responseCode = "400", description = "Lista de códigos vazia ou com mais de 1000 códigos.",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class))),
+                        @ApiResponse(responseCode = "401", description = "Usuário não está autenticado",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class)))
+        })
+        @PostMapping("/sipac")
+        @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+        public ResponseEntity<ItemCodeLookupResultDTO> getItemsByCodes(@RequestBody @Valid ItemCodeLookupDTO lookupDTO) {
+                ItemCodeLookupResultDTO result = itemService.findAllByCodes(lookupDTO.getCodes());
+
+                return ResponseEntity.status(HttpStatus.OK).body(result);
+        }
+
         @Operation(summary = "Cadastrar um item",
                 description = "Cadastrará um item. Requsição exige o uso de um bearer token. Acesso restrito a role='ADMIN'.",
                 deprecated = true,
@@ -1,5 +1,6 @@
 package com.ufrn.nei.almoxarifadoapi.controller;
 
+import com.ufrn.nei.almoxarifadoapi.dto.item.ItemBatchResultDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.item.ItemCreateDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.mapper.RecordMapper;
 import com.ufrn.nei.almoxarifadoapi.dto.record.RecordCreateDTO;
@@ -15,14 +16,20 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @Tag(name = "Operações Itens", description = "Contém as operações para gerenciar os itens e persistir com a tabela registro")
 @RestController
 @RequestMapping("/api/v1/operacoes")
@@ -46,10 +53,9 @@ public class OperationController {
         @PostMapping("/consumo")
         @PreAuthorize("hasRole('ADMIN')")
         public ResponseEntity<RecordResponseDTO> consume(@RequestBody @Valid RecordCreateDTO createDTO) {
-                RecordEntity record = operationService.toConsume(createDTO);
-                RecordResponseDTO response = RecordMapper.toResponseDTO(record);
+                RecordResponseDTO response = operationService.toConsume(createDTO);
 
-                return ResponseEntity.status(HttpStatus.OK).body(RecordMapper.toResponseDTO(record));
+                return ResponseEntity.status(HttpStatus.OK).body(response);
         }
 
         @Operation(summary = "Criar registro de cadastro.",
@@ -73,6 +79,25 @@ public class OperationController {
                 return ResponseEntity.status(HttpStatus.CREATED).body(RecordMapper.toResponseDTO(record));
         }
 
+        @Operation(summary = "Cadastrar itens em lote.",
+                description = "Recebe um arquivo CSV (nome;codigo_sipac;quantidade;tipo_unitario) ou NDJSON com um item por linha. " +
+                        "Itens existentes têm a quantidade somada. Requsição exige o uso de um bearer token. Acesso restrito a role='ADMIN'.",
+                security = @SecurityRequirement(name = "security"),
+                responses = {
+                        @ApiResponse(responseCode = "200", description = "Arquivo processado. Linhas com erro são listadas no resumo.",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ItemBatchResultDTO.class))),
+                        @ApiResponse(responseCode = "401", description = "Usuário não está autenticado",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class))),
+        })
+        @PostMapping(value = "/cadastro/lote", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<ItemBatchResultDTO> toRegisterBatch(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                  InputStream body) throws IOException {
+                ItemBatchResultDTO response = operationService.toRegisterBatch(body, contentType);
+
+                return ResponseEntity.status(HttpStatus.OK).body(response);
+        }
+
         @Operation(summary = "Criar registro de exclusão.",
                 description = "Excluirá um item. Requsição exige o uso de um bearer token. Acesso restrito a role='ADMIN'.",
                 deprecated = true,
@@ -90,8 +115,8 @@ public class OperationController {
         @PostMapping("/exclusao")
         @PreAuthorize("hasRole('ADMIN')")
         public ResponseEntity<RecordResponseDTO> toDelete(@RequestBody @Valid RecordCreateDTO createDTO) {
-                RecordEntity record = operationService.toDelete(createDTO);
+                RecordResponseDTO response = operationService.toDelete(createDTO);
 
-                return ResponseEntity.status(HttpStatus.OK).body(RecordMapper.toResponseDTO(record));
+                return ResponseEntity.status(HttpStatus.OK).body(response);
         }
 }
@@ -1,11 +1,14 @@
 package com.ufrn.nei.almoxarifadoapi.controller;
 
 import com.ufrn.nei.almoxarifadoapi.dto.mapper.PageableMapper;
+import com.ufrn.nei.almoxarifadoapi.dto.pageable.CursorPageableDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.pageable.PageableDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.record.RecordResponseDTO;
 import com.ufrn.nei.almoxarifadoapi.infra.RestErrorMessage;
 import com.ufrn.nei.almoxarifadoapi.repository.projection.RecordProjection;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.RecordSummary;
 import com.ufrn.nei.almoxarifadoapi.service.RecordService;
+import com.ufrn.nei.almoxarifadoapi.utils.CursorCodec;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -20,11 +23,15 @@ import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @Tag(name = "Registros", description = "Contém todas as operações relativas aos recursos para leitura dos registros")
 @RestController
 @RequestMapping("/api/v1/records")
@@ -53,15 +60,55 @@ public class RecordController {
                         @ApiResponse(responseCode = "200", description = "Recurso localizado com sucesso",
                                 content = @Content(mediaType = "applicaton/json;charset=UTF-8", schema = @Schema(implementation = PageableDTO.class))),
                         @ApiResponse(responseCode = "401", description = "Usuário não está autenticado",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class))),
+                        @ApiResponse(responseCode = "503", description = "Fila de relatórios cheia. Tente novamente em instantes.",
                                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class)))
         })
         @GetMapping
         @PreAuthorize("hasRole('ADMIN')")
-        public ResponseEntity<PageableDTO> findAll(Pageable pageable) {
-                Page<RecordProjection> records = recordService.findAll(pageable);
-                PageableDTO response = PageableMapper.toDto(records);
+        public CompletableFuture<ResponseEntity<PageableDTO>> findAll(Pageable pageable) {
+                CompletableFuture<Page<RecordSummary>> records = recordService.findAll(pageable);
 
-                return ResponseEntity.status(HttpStatus.OK).body(response);
+                return records.thenApply(data -> ResponseEntity.status(HttpStatus.OK).body(PageableMapper.toDto(data)));
+        }
+
+        @Operation(summary = "Listar todos os registros (modo cursor).",
+                description = "Paginação por cursor, sem contagem total. Envie after vazio na primeira página e o valor de 'next' nas seguintes. " +
+                        "Requsição exige o uso de um bearer token. Acesso restrito a role='ADMIN'.",
+                security = @SecurityRequirement(name = "security"),
+                parameters = {
+                        @Parameter(in = ParameterIn.QUERY, name = "after", required = true,
+                                content = @Content(schema = @Schema(type = "string")),
+                                description = "Cursor opaco retornado em 'next'. Vazio para a primeira página."
+                        ),
+                        @Parameter(in = ParameterIn.QUERY, name = "size",
+                                content = @Content(schema = @Schema(type = "integer", defaultValue = "20")),
+                                description = "Representa o total de elementos por página."
+                        ),
+                        @Parameter(in = ParameterIn.QUERY, name = "sort", hidden = true,
+                                array = @ArraySchema(schema = @Schema(type = "string", defaultValue = "id,asc")),
+                                description = "Representa a ordenação dos resultados. O id é sempre usado como último critério."
+                        ),
+                },
+                responses = {
+                        @ApiResponse(responseCode = "200", description = "Recurso localizado com sucesso",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageableDTO.class))),
+                        @ApiResponse(responseCode = "400", description = "Cursor inválido",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class))),
+                        @ApiResponse(responseCode = "401", description = "Usuário não está autenticado",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class))),
+                        @ApiResponse(responseCode = "503", description = "Fila de relatórios cheia. Tente novamente em instantes.",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class)))
+                })
+        @GetMapping(params = "after")
+        @PreAuthorize("hasRole('ADMIN')")
+        public CompletableFuture<ResponseEntity<CursorPageableDTO>> findAllByCursor(@RequestParam String after,
+                                                                                    Pageable pageable) {
+                ScrollPosition position = CursorCodec.decode(after);
+                CompletableFuture<Window<RecordProjection>> records = recordService.findAll(position, pageable);
+
+                return records.thenApply(data -> ResponseEntity.status(HttpStatus.OK)
+                                .body(PageableMapper.toDto(data, position, pageable.getPageSize())));
         }
 
 
@@ -123,19 +170,20 @@ public class RecordController {
                         @ApiResponse(responseCode = "401", description = "Usuário não está autenticado",
                                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class))),
                         @ApiResponse(responseCode = "403", description = "Erro na validação dos parâmetros",
-                                content = @Content(mediaType = "application/json;charset=UTF-8"))
+                                content = @Content(mediaType = "application/json;charset=UTF-8")),
+                        @ApiResponse(responseCode = "503", description = "Fila de relatórios cheia. Tente novamente em instantes.",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class)))
                 })
         @GetMapping("/query/users")
         @PreAuthorize("hasRole('ADMIN')")
-        public ResponseEntity<PageableDTO> findByUsers(@RequestParam(required = false) @Positive Long id,
-                                                       @RequestParam(required = false) String name,
-                                                       @RequestParam(required = false) @Email String email,
-                                                       @RequestParam(required = false) String role,
-                                                       Pageable pageable) {
-                Page<RecordProjection> records = recordService.findByUsers(id, name, email, role, pageable);
-                PageableDTO response = PageableMapper.toDto(records);
+        public CompletableFuture<ResponseEntity<PageableDTO>> findByUsers(@RequestParam(required = false) @Positive Long id,
+                                                                          @RequestParam(required = false) String name,
+                                                                          @RequestParam(required = false) @Email String email,
+                                                                          @RequestParam(required = false) String role,
+                                                                          Pageable pageable) {
+                CompletableFuture<Page<RecordProjection>> records = recordService.findByUsers(id, name, email, role, pageable);
 
-                return ResponseEntity.status(HttpStatus.OK).body(response);
+                return records.thenApply(data -> ResponseEntity.status(HttpStatus.OK).body(PageableMapper.toDto(data)));
         }
 
         @Operation(summary = "Listar registros por informações do item.",
@@ -152,7 +200,11 @@ public class RecordController {
                         ),
                         @Parameter(in = ParameterIn.QUERY, name = "itemTagging",
                                 schema = @Schema(type = "integer", defaultValue = "null"),
-                                description = "Código sipac do item"
+                                description = "Código sipac do item. Busca pelo início do código"
+                        ),
+                        @Parameter(in = ParameterIn.QUERY, name = "contains",
+                                schema = @Schema(type = "boolean", defaultValue = "false"),
+                                description = "Busca o código sipac informado em qualquer posição, não só no início"
                         ),
                         @Parameter(in = ParameterIn.QUERY, name = "size",
                                 schema = @Schema(type = "integer", defaultValue = "20"),
@@ -173,17 +225,20 @@ public class RecordController {
                         @ApiResponse(responseCode = "401", description = "Usuário não está autenticado",
                                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class))),
                         @ApiResponse(responseCode = "403", description = "Erro na validação dos parâmetros",
-                                content = @Content(mediaType = "application/json;charset=UTF-8"))
+                                content = @Content(mediaType = "application/json;charset=UTF-8")),
+                        @ApiResponse(responseCode = "503", description = "Fila de relatórios cheia. Tente novamente em instantes.",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class)))
         })
         @GetMapping("/query/itens")
         @PreAuthorize("hasRole('ADMIN')")
-        public ResponseEntity<PageableDTO> findByItens(@RequestParam(required = false) @Positive Long id,
-                                                       @RequestParam(required = false) @Positive Long itemTagging,
-                                                       @RequestParam(required = false) String name,
-                                                       Pageable pageable) {
-                Page<RecordProjection> records = recordService.findByItens(id, itemTagging, name, pageable);
-                PageableDTO response = PageableMapper.toDto(records);
+        public CompletableFuture<ResponseEntity<PageableDTO>> findByItens(@RequestParam(required = false) @Positive Long id,
+                                                                          @RequestParam(required = false) @Positive Long itemTagging,
+                                                                          @RequestParam(required = false) String name,
+                                                                          @RequestParam(defaultValue = "false") boolean contains,
+                                                                          Pageable pageable) {
+                CompletableFuture<Page<RecordProjection>> records = recordService.findByItens(id, itemTagging, name,
+                                contains, pageable);
 
-                return ResponseEntity.status(HttpStatus.OK).body(response);
+                return records.thenApply(data -> ResponseEntity.status(HttpStatus.OK).body(PageableMapper.toDto(data)));
         }
 }
@@ -2,6 +2,7 @@ package com.ufrn.nei.almoxarifadoapi.controller;
 
 import com.ufrn.nei.almoxarifadoapi.dto.mapper.PageableMapper;
 import com.ufrn.nei.almoxarifadoapi.dto.mapper.RequestMapper;
+import com.ufrn.nei.almoxarifadoapi.dto.pageable.CursorPageableDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.pageable.PageableDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.record.RecordResponseDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.request.RequestCreateDTO;
@@ -11,7 +12,9 @@ import com.ufrn.nei.almoxarifadoapi.enums.RequestStatusEnum;
 import com.ufrn.nei.almoxarifadoapi.exception.StatusNotFoundException;
 import com.ufrn.nei.almoxarifadoapi.infra.RestErrorMessage;
 import com.ufrn.nei.almoxarifadoapi.repository.projection.RequestProjection;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.RequestSummary;
 import com.ufrn.nei.almoxarifadoapi.service.RequestService;
+import com.ufrn.nei.almoxarifadoapi.utils.CursorCodec;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -25,6 +28,8 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -166,12 +171,48 @@ public class RequestController {
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<PageableDTO> findAll(Pageable pageable) {
-        Page<RequestProjection> requestPage = requestService.findAll(pageable);
+        Page<RequestSummary> requestPage = requestService.findAll(pageable);
         PageableDTO response = PageableMapper.toDto(requestPage);
 
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    @Operation(summary = "Listar todas as solicitações (modo cursor).",
+            description = "Paginação por cursor, sem contagem total. Envie after vazio na primeira página e o valor de 'next' nas seguintes. " +
+                    "Requsição exige o uso de um bearer token. Acesso restrito a role='ADMIN'.",
+            security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = ParameterIn.QUERY, name = "after", required = true,
+                            content = @Content(schema = @Schema(type = "string")),
+                            description = "Cursor opaco retornado em 'next'. Vazio para a primeira página."
+                    ),
+                    @Parameter(in = ParameterIn.QUERY, name = "size",
+                            content = @Content(schema = @Schema(type = "integer", defaultValue = "20")),
+                            description = "Representa o total de elementos por página."
+                    ),
+                    @Parameter(in = ParameterIn.QUERY, name = "sort", hidden = true,
+                            array = @ArraySchema(schema = @Schema(type = "string", defaultValue = "id,asc")),
+                            description = "Representa a ordenação dos resultados. O id é sempre usado como último critério."
+                    ),
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso localizado com sucesso",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageableDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Cursor inválido",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class))),
+                    @ApiResponse(responseCode = "401", description = "Usuário não está autenticado",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class)))
+            })
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPageableDTO> findAllByCursor(@RequestParam String after, Pageable pageable) {
+        ScrollPosition position = CursorCodec.decode(after);
+        Window<RequestProjection> data = requestService.findAll(position, pageable);
+        CursorPageableDTO response = PageableMapper.toDto(data, position, pageable.getPageSize());
+
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     @Operation(summary = "Recuperar solicitação pelo ID",
             description = "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN'",
             security = @SecurityRequirement(name = "security"),
@@ -208,7 +249,7 @@ public class RequestController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<PageableDTO> findByStatus(@PathVariable String status,
                                                                  Pageable pageable) {
-        Page<RequestProjection> requestPage = requestService.findByStatus(status, pageable);
+        Page<RequestSummary> requestPage = requestService.findByStatus(status, pageable);
         PageableDTO response = PageableMapper.toDto(requestPage);
 
         return ResponseEntity.status(HttpStatus.OK).body(response);
@@ -227,7 +268,7 @@ public class RequestController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<PageableDTO> findByUserId(@PathVariable Long id,
                                                                  Pageable pageable) {
-        Page<RequestProjection> requestPage = requestService.findByUserID(id, pageable);
+        Page<RequestSummary> requestPage = requestService.findByUserID(id, pageable);
         PageableDTO response = PageableMapper.toDto(requestPage);
 
         return ResponseEntity.status(HttpStatus.OK).body(response);
@@ -246,7 +287,7 @@ public class RequestController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<PageableDTO> findByItemId(@PathVariable Long id,
                                                                  Pageable pageable) {
-        Page<RequestProjection> requestPage = requestService.findByItemID(id, pageable);
+        Page<RequestSummary> requestPage = requestService.findByItemID(id, pageable);
         PageableDTO response = PageableMapper.toDto(requestPage);
 
         return ResponseEntity.status(HttpStatus.OK).body(response);
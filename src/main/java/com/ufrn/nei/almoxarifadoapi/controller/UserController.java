@@ -3,6 +3,7 @@ package com.ufrn.nei.almoxarifadoapi.controller;
 import com.ufrn.nei.almoxarifadoapi.dto.item.ItemResponseDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.mapper.PageableMapper;
 import com.ufrn.nei.almoxarifadoapi.dto.mapper.UserMapper;
+import com.ufrn.nei.almoxarifadoapi.dto.pageable.CursorPageableDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.pageable.PageableDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.user.UserCreateDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.user.UserPasswordUpdateDTO;
@@ -11,6 +12,7 @@ import com.ufrn.nei.almoxarifadoapi.entity.UserEntity;
 import com.ufrn.nei.almoxarifadoapi.infra.RestErrorMessage;
 import com.ufrn.nei.almoxarifadoapi.repository.projection.UserProjection;
 import com.ufrn.nei.almoxarifadoapi.service.UserService;
+import com.ufrn.nei.almoxarifadoapi.utils.CursorCodec;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -24,6 +26,8 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -108,6 +112,42 @@ public class UserController {
                 return ResponseEntity.status(HttpStatus.OK).body(response);
         }
 
+        @Operation(summary = "Buscar todos os usuários (modo cursor).",
+                description = "Paginação por cursor, sem contagem total. Envie after vazio na primeira página e o valor de 'next' nas seguintes. " +
+                        "Requsição exige o uso de um bearer token. Acesso restrito a role='ADMIN'.",
+                security = @SecurityRequirement(name = "security"),
+                parameters = {
+                        @Parameter(in = ParameterIn.QUERY, name = "after", required = true,
+                                content = @Content(schema = @Schema(type = "string")),
+                                description = "Cursor opaco retornado em 'next'. Vazio para a primeira página."
+                        ),
+                        @Parameter(in = ParameterIn.QUERY, name = "size",
+                                content = @Content(schema = @Schema(type = "integer", defaultValue = "20")),
+                                description = "Representa o total de elementos por página."
+                        ),
+                        @Parameter(in = ParameterIn.QUERY, name = "sort", hidden = true,
+                                array = @ArraySchema(schema = @Schema(type = "string", defaultValue = "id,asc")),
+                                description = "Representa a ordenação dos resultados. O id é sempre usado como último critério."
+                        ),
+                },
+                responses = {
+                        @ApiResponse(responseCode = "200", description = "Usuários encontrados com sucesso",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageableDTO.class))),
+                        @ApiResponse(responseCode = "400", description = "Cursor inválido",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class))),
+                        @ApiResponse(responseCode = "401", description = "Usuário não está autenticado",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorMessage.class)))
+                })
+        @GetMapping(params = "after")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<CursorPageableDTO> findAllByCursor(@RequestParam String after, Pageable pageable) {
+                ScrollPosition position = CursorCodec.decode(after);
+                Window<UserProjection> data = userService.findAllPageable(position, pageable);
+                CursorPageableDTO response = PageableMapper.toDto(data, position, pageable.getPageSize());
+
+                return ResponseEntity.status(HttpStatus.OK).body(response);
+        }
+
         @Operation(summary = "Buscar todos os usuários.",
                 description = "Requsição exige o uso de um bearer token. Acesso restrito a role='ADMIN'.",
                 security = @SecurityRequirement(name = "security"),
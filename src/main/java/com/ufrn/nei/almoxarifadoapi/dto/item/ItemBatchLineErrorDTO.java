@@ -0,0 +1,15 @@
+package com.ufrn.nei.almoxarifadoapi.dto.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBatchLineErrorDTO {
+    private long line;
+    private String message;
+}
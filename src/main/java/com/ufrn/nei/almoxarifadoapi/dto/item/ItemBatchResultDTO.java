@@ -0,0 +1,21 @@
+package com.ufrn.nei.almoxarifadoapi.dto.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBatchResultDTO {
+    private long lines;
+    private long created;
+    private long updated;
+    private long failed;
+    private List<ItemBatchLineErrorDTO> errors = new ArrayList<>();
+}
@@ -0,0 +1,20 @@
+package com.ufrn.nei.almoxarifadoapi.dto.item;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemCodeLookupDTO {
+    public static final int MAX_CODES = 1000;
+
+    @NotNull
+    @Size(min = 1, max = MAX_CODES)
+    private long[] codes;
+}
@@ -0,0 +1,18 @@
+package com.ufrn.nei.almoxarifadoapi.dto.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemCodeLookupResultDTO {
+    private List<ItemResponseDTO> items = new ArrayList<>();
+    private List<Long> notFound = new ArrayList<>();
+}
@@ -3,9 +3,8 @@ package com.ufrn.nei.almoxarifadoapi.dto.mapper;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
-
 import com.ufrn.nei.almoxarifadoapi.dto.item.ItemCreateDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.item.ItemRecordDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.item.ItemResponseDTO;
 import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
 import org.springframework.data.domain.Page;
@@ -14,7 +13,12 @@ import org.springframework.data.domain.PageImpl;
 public class ItemMapper {
 
     public static ItemResponseDTO toResponseDTO(ItemEntity itemEntity) {
-        return new ModelMapper().map(itemEntity, ItemResponseDTO.class);
+        return new ItemResponseDTO(itemEntity.getId(), itemEntity.getName(), itemEntity.getSipacCode(),
+                itemEntity.getQuantity(), itemEntity.getType(), Boolean.TRUE.equals(itemEntity.getAvailable()));
+    }
+
+    public static ItemRecordDTO toRecordDTO(ItemEntity itemEntity) {
+        return new ItemRecordDTO(itemEntity.getId(), itemEntity.getName(), itemEntity.getSipacCode());
     }
 
     public static Page<ItemResponseDTO> toPageResponseDTO(Page<ItemEntity> data) {
@@ -25,11 +29,25 @@ public class ItemMapper {
     }
 
     public static ItemEntity toItem(ItemCreateDTO itemDTO) {
-        return new ModelMapper().map(itemDTO, ItemEntity.class);
+        ItemEntity item = new ItemEntity();
+        item.setName(itemDTO.getName());
+        item.setQuantity(itemDTO.getQuantity());
+        item.setType(itemDTO.getType());
+        item.setSipacCode(itemDTO.getSipacCode());
+
+        return item;
     }
 
     public static ItemEntity toItem(ItemResponseDTO itemDTO) {
-        return new ModelMapper().map(itemDTO, ItemEntity.class);
+        ItemEntity item = new ItemEntity();
+        item.setId(itemDTO.getId());
+        item.setName(itemDTO.getName());
+        item.setQuantity(itemDTO.getQuantity());
+        item.setType(itemDTO.getType());
+        item.setSipacCode(itemDTO.getSipacCode());
+        item.setAvailable(itemDTO.isAvailable());
+
+        return item;
     }
 
 }
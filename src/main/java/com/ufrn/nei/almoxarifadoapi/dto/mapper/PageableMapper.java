@@ -1,14 +1,57 @@
 package com.ufrn.nei.almoxarifadoapi.dto.mapper;
 
+import com.ufrn.nei.almoxarifadoapi.dto.pageable.CursorPageableDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.pageable.PageableDTO;
+import com.ufrn.nei.almoxarifadoapi.utils.CursorCodec;
+import com.ufrn.nei.almoxarifadoapi.utils.MappedList;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.function.Function;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class PageableMapper {
-    public static PageableDTO toDto(Page page) {
-        return new ModelMapper().map(page, PageableDTO.class);
+    // O conteúdo da página é repassado sem cópia
+    public static PageableDTO toDto(Page<?> page) {
+        PageableDTO dto = new PageableDTO();
+
+        dto.setContent(page.getContent());
+        dto.setFirst(page.isFirst());
+        dto.setLast(page.isLast());
+        dto.setNumber(page.getNumber());
+        dto.setSize(page.getSize());
+        dto.setNumberOfElements(page.getNumberOfElements());
+        dto.setTotalPages(page.getTotalPages());
+        dto.setTotalElements(page.getTotalElements());
+
+        return dto;
+    }
+
+    // Cada elemento é convertido enquanto a resposta é escrita, sem lista intermediária
+    public static <T> PageableDTO toDto(Page<T> page, Function<? super T, ?> mapper) {
+        PageableDTO dto = toDto(page);
+        dto.setContent(MappedList.of(page.getContent(), mapper));
+
+        return dto;
+    }
+
+    public static CursorPageableDTO toDto(Window<?> window, ScrollPosition position, int size) {
+        CursorPageableDTO dto = new CursorPageableDTO();
+
+        dto.setContent(window.getContent());
+        dto.setSize(size);
+        dto.setNumberOfElements(window.size());
+        dto.setFirst(((KeysetScrollPosition) position).getKeys().isEmpty());
+        dto.setLast(!window.hasNext());
+
+        if (window.hasNext() && !window.isEmpty()) {
+            dto.setNext(CursorCodec.encode(window.positionAt(window.size() - 1)));
+        }
+
+        return dto;
     }
 }
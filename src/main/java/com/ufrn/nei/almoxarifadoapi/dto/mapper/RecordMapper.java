@@ -2,8 +2,11 @@ package com.ufrn.nei.almoxarifadoapi.dto.mapper;
 
 import com.ufrn.nei.almoxarifadoapi.dto.item.ItemRecordDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.record.RecordResponseDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.user.UserRecordDTO;
 import com.ufrn.nei.almoxarifadoapi.entity.RecordEntity;
-import org.modelmapper.ModelMapper;
+import com.ufrn.nei.almoxarifadoapi.enums.RecordOperationEnum;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.RecordCreatedProjection;
+import com.ufrn.nei.almoxarifadoapi.utils.RemoveRolePrefix;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
@@ -12,13 +15,19 @@ import java.util.stream.Collectors;
 
 public class RecordMapper {
     public static RecordResponseDTO toResponseDTO(RecordEntity recordEntity) {
-        ModelMapper mapper = new ModelMapper();
-        RecordResponseDTO recordResponseDTO = mapper.map(recordEntity, RecordResponseDTO.class);
+        return new RecordResponseDTO(recordEntity.getId(), UserMapper.toRecordDTO(recordEntity.getUser()),
+                ItemMapper.toRecordDTO(recordEntity.getItem()), recordEntity.getQuantity(),
+                recordEntity.getOperationEnum(), recordEntity.getData().toString());
+    }
 
-        recordResponseDTO.setUser(UserMapper.toRecordDTO(recordEntity.getUser()));
-        recordResponseDTO.setItem(mapper.map(recordEntity.getItem(), ItemRecordDTO.class));
+    public static RecordResponseDTO toResponseDTO(RecordCreatedProjection projection) {
+        UserRecordDTO user = new UserRecordDTO(projection.getUserId(), projection.getUserName(),
+                projection.getUserEmail(), RemoveRolePrefix.getRoleWithoutPrefix(projection.getUserRole()));
+        ItemRecordDTO item = new ItemRecordDTO(projection.getItemId(), projection.getItemName(),
+                projection.getItemSipacCode());
 
-        return recordResponseDTO;
+        return new RecordResponseDTO(projection.getId(), user, item, projection.getQuantity(),
+                RecordOperationEnum.valueOf(projection.getOperation()), projection.getData().toString());
     }
 
     public static Page<RecordResponseDTO> toPageResponseDTO(Page<RecordEntity> data) {
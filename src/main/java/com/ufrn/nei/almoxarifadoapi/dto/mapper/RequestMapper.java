@@ -8,9 +8,6 @@ import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
 import com.ufrn.nei.almoxarifadoapi.entity.RequestEntity;
 import com.ufrn.nei.almoxarifadoapi.entity.UserEntity;
 import com.ufrn.nei.almoxarifadoapi.enums.RequestStatusEnum;
-import com.ufrn.nei.almoxarifadoapi.utils.RemoveRolePrefix;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
@@ -19,41 +16,15 @@ import java.util.stream.Collectors;
 
 public class RequestMapper {
     public static RequestEntity toRequest(RequestCreateDTO data, UserEntity user, ItemEntity item, RequestStatusEnum status) {
-        PropertyMap<RequestCreateDTO, RequestEntity> propertyMap = new PropertyMap<>() {
-            @Override
-            protected void configure() {
-                map().setId(null);
-                map().setUser(user);
-                map().setItem(item);
-                map().setStatus(status);
-            }
-        };
-
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.addMappings(propertyMap);
-
-        return modelMapper.map(data, RequestEntity.class);
+        return new RequestEntity(status, data.getDescription(), data.getQuantity(), user, item);
     }
 
     public static RequestResponseDTO toResponseDTO(RequestEntity data) {
         UserResponseDTO user = UserMapper.toResponseDTO(data.getUser());
         ItemResponseDTO item = ItemMapper.toResponseDTO(data.getItem());
 
-        String role = data.getUser().getRole().getRole();
-
-        PropertyMap<RequestEntity, RequestResponseDTO> propertyMap = new PropertyMap<>() {
-            @Override
-            protected void configure() {
-                map().setUser(user);
-                map().getUser().setRole(RemoveRolePrefix.getRoleWithoutPrefix(role));
-                map().setItem(item);
-            }
-        };
-
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.addMappings(propertyMap);
-
-        return modelMapper.map(data, RequestResponseDTO.class);
+        return new RequestResponseDTO(data.getId(), item, data.getQuantity(), data.getStatus(), data.getDescription(),
+                user, data.getCreatedAt().toString(), data.getUpdatedAt().toString());
     }
 
     public static Page<RequestResponseDTO> toPageResponseDTO(Page<RequestEntity> data) {
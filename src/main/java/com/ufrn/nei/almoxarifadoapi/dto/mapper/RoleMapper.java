@@ -3,8 +3,6 @@ package com.ufrn.nei.almoxarifadoapi.dto.mapper;
 import com.ufrn.nei.almoxarifadoapi.dto.role.RoleCreateDto;
 import com.ufrn.nei.almoxarifadoapi.dto.role.RoleResponseDto;
 import com.ufrn.nei.almoxarifadoapi.entity.RoleEntity;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
@@ -13,11 +11,14 @@ import java.util.stream.Collectors;
 
 public class RoleMapper {
     public static RoleEntity toRole(RoleCreateDto roleCreateDto) {
-        return new ModelMapper().map(roleCreateDto, RoleEntity.class);
+        RoleEntity role = new RoleEntity();
+        role.setRole(roleCreateDto.getRole());
+
+        return role;
     }
 
     public static RoleEntity toRole(RoleResponseDto roleResponseDto) {
-        return new ModelMapper().map(roleResponseDto, RoleEntity.class);
+        return new RoleEntity(roleResponseDto.getId(), roleResponseDto.getRole());
     }
 
     public static RoleResponseDto toResponseDto(RoleEntity roleEntity) {
@@ -27,19 +28,7 @@ public class RoleMapper {
             role = role.substring("ROLE_".length());
         }
 
-        String finalRole = role;
-
-        PropertyMap<RoleEntity, RoleResponseDto> propertyMap = new PropertyMap<>() {
-            @Override
-            protected void configure() {
-                map().setRole(finalRole);
-            }
-        };
-
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.addMappings(propertyMap);
-
-        return modelMapper.map(roleEntity, RoleResponseDto.class);
+        return new RoleResponseDto(roleEntity.getId(), role);
     }
 
     public static Page<RoleResponseDto> toPageResponseDTO(Page<RoleEntity> data) {
@@ -5,8 +5,6 @@ import com.ufrn.nei.almoxarifadoapi.dto.user.UserRecordDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.user.UserResponseDTO;
 import com.ufrn.nei.almoxarifadoapi.entity.UserEntity;
 import com.ufrn.nei.almoxarifadoapi.utils.RemoveRolePrefix;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
@@ -17,53 +15,23 @@ public class UserMapper {
     public static UserResponseDTO toResponseDTO(UserEntity userEntity) {
         String role = RemoveRolePrefix.getRoleWithoutPrefix(userEntity.getRole());
 
-        PropertyMap<UserEntity, UserResponseDTO> propertyMap = new PropertyMap<>() {
-            @Override
-            protected void configure() {
-                map().setRole(role);
-                if (userEntity.getRecords().isEmpty()) {
-                    map().setExistRecord(Boolean.FALSE);
-                } else {
-                    map().setExistRecord(Boolean.TRUE);
-                }
-
-            }
-        };
-
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.addMappings(propertyMap);
-
-        return modelMapper.map(userEntity, UserResponseDTO.class);
+        return new UserResponseDTO(userEntity.getId(), userEntity.getName(), userEntity.getEmail(), role,
+                Boolean.TRUE.equals(userEntity.getHasRecords()), Boolean.TRUE.equals(userEntity.getActive()));
     }
 
     public static UserEntity toUser(UserCreateDTO userDTO) {
-        PropertyMap<UserCreateDTO, UserEntity> propertyMap = new PropertyMap<>() {
-            @Override
-            protected void configure() {
-                map().setId(null);
-            }
-        };
+        UserEntity user = new UserEntity();
+        user.setName(userDTO.getName());
+        user.setEmail(userDTO.getEmail());
+        user.setPassword(userDTO.getPassword());
 
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.addMappings(propertyMap);
-
-        return modelMapper.map(userDTO, UserEntity.class);
+        return user;
     }
 
     public static UserRecordDTO toRecordDTO(UserEntity userEntity) {
         String role = RemoveRolePrefix.getRoleWithoutPrefix(userEntity.getRole());
 
-        PropertyMap<UserEntity, UserRecordDTO> propertyMap = new PropertyMap<>() {
-            @Override
-            protected void configure() {
-                map().setRole(role);
-            }
-        };
-
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.addMappings(propertyMap);
-
-        return modelMapper.map(userEntity, UserRecordDTO.class);
+        return new UserRecordDTO(userEntity.getId(), userEntity.getName(), userEntity.getEmail(), role);
     }
 
     public static Page<UserResponseDTO> toPageResponseDTO(Page<UserEntity> data) {
@@ -0,0 +1,13 @@
+package com.ufrn.nei.almoxarifadoapi.dto.pageable;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+// Sem contagem total: o modo cursor não executa count(*).
+@Getter
+@Setter
+@JsonIgnoreProperties({"page", "totalPages", "totalElements"})
+public class CursorPageableDTO extends PageableDTO {
+    private String next;
+}
@@ -4,13 +4,12 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Getter
 @Setter
 public class PageableDTO {
-    private List content = new ArrayList<>();
+    private List<?> content = List.of();
     private boolean first;
     private boolean last;
     @JsonProperty("page")
@@ -19,5 +18,5 @@ public class PageableDTO {
     @JsonProperty("pageElements")
     private int numberOfElements;
     private int totalPages;
-    private int totalElements;
+    private long totalElements;
 }
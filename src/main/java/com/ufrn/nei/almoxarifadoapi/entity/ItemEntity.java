@@ -12,6 +12,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.DynamicUpdate;
 
 @Getter
@@ -21,9 +23,12 @@ import org.hibernate.annotations.DynamicUpdate;
 @DynamicUpdate
 @Entity
 @Table(name = "itens")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items")
 public class ItemEntity implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "itens_id_seq")
+    @SequenceGenerator(name = "itens_id_seq", sequenceName = "itens_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -33,6 +38,10 @@ public class ItemEntity implements Serializable {
     @Column(name = "codigo_sipac", nullable = true, unique = true)
     private Long sipacCode;
 
+    // Coluna gerada pelo banco a partir de codigo_sipac, usada nas buscas por prefixo/trecho do código.
+    @Column(name = "codigo_sipac_texto", insertable = false, updatable = false)
+    private String sipacCodeText;
+
     @Column(name = "quantidade", nullable = false)
     private int quantity;
 
@@ -0,0 +1,75 @@
+package com.ufrn.nei.almoxarifadoapi.entity;
+
+import com.ufrn.nei.almoxarifadoapi.enums.MailOutboxStatusEnum;
+import com.ufrn.nei.almoxarifadoapi.enums.MailTypeEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "email_outbox")
+public class MailOutboxEntity implements Serializable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_id_seq")
+    @SequenceGenerator(name = "email_outbox_id_seq", sequenceName = "email_outbox_id_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 30)
+    private MailTypeEnum type;
+
+    @Column(name = "destinatario", nullable = false)
+    private String recipient;
+
+    @Column(name = "nome_usuario", nullable = false)
+    private String userName;
+
+    @Column(name = "nome_item")
+    private String itemName;
+
+    @Column(name = "quantidade")
+    private Long quantity;
+
+    @Column(name = "data_evento")
+    private Timestamp eventDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private MailOutboxStatusEnum status = MailOutboxStatusEnum.PENDENTE;
+
+    @Column(name = "tentativas", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "proxima_tentativa", nullable = false)
+    private Timestamp nextAttemptAt = Timestamp.valueOf(LocalDateTime.now());
+
+    @Column(name = "ultimo_erro", length = 500)
+    private String lastError;
+
+    @Column(name = "criado_em", nullable = false)
+    private Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+    @Column(name = "enviado_em")
+    private Timestamp sentAt;
+
+    public MailOutboxEntity(MailTypeEnum type, String recipient, String userName,
+                            String itemName, Long quantity, Timestamp eventDate) {
+        this.type = type;
+        this.recipient = recipient;
+        this.userName = userName;
+        this.itemName = itemName;
+        this.quantity = quantity;
+        this.eventDate = eventDate;
+    }
+}
@@ -20,7 +20,8 @@ import java.util.Objects;
 @Table(name = "Registros")
 public class RecordEntity implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registros_id_seq")
+    @SequenceGenerator(name = "registros_id_seq", sequenceName = "registros_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
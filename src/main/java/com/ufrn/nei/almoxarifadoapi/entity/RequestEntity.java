@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 @Table(name = "Solicitações")
 public class RequestEntity implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "solicitações_id_seq")
+    @SequenceGenerator(name = "solicitações_id_seq", sequenceName = "solicitações_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
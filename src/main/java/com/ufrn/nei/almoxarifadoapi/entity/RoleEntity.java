@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.sql.Timestamp;
@@ -17,9 +19,12 @@ import java.util.Objects;
 @AllArgsConstructor
 @Entity
 @Table(name = "Roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles")
 public class RoleEntity implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_id_seq")
+    @SequenceGenerator(name = "roles_id_seq", sequenceName = "roles_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -6,6 +6,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.io.Serializable;
 import java.sql.Timestamp;
@@ -19,9 +22,12 @@ import java.util.Objects;
 @AllArgsConstructor
 @Entity
 @Table(name = "Usuarios")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class UserEntity implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_id_seq")
+    @SequenceGenerator(name = "usuarios_id_seq", sequenceName = "usuarios_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -43,6 +49,16 @@ public class UserEntity implements Serializable {
     @Column(name = "ativo", nullable = false)
     private Boolean active = true;
 
+    // Incrementada a cada troca de senha; tokens emitidos com versão anterior são rejeitados.
+    @ColumnDefault("0")
+    @Column(name = "versao_token", nullable = false)
+    private Integer tokenVersion = 0;
+
+    // Mantido pelo banco (trigger em Registros). Quem grava registros remove o usuário do cache de segundo nível.
+    @ColumnDefault("false")
+    @Column(name = "possui_registros", nullable = false, insertable = false, updatable = false)
+    private Boolean hasRecords = false;
+
     @ManyToOne
     @JoinColumn(name = "id_role", nullable = false, unique = false)
     private RoleEntity role;
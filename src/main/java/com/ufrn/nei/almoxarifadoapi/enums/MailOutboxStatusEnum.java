@@ -0,0 +1,8 @@
+package com.ufrn.nei.almoxarifadoapi.enums;
+
+public enum MailOutboxStatusEnum {
+    PENDENTE,
+    ENVIANDO,
+    ENVIADO,
+    FALHOU
+}
@@ -0,0 +1,9 @@
+package com.ufrn.nei.almoxarifadoapi.enums;
+
+public enum MailTypeEnum {
+    USUARIO_CRIADO,
+    SOLICITACAO_CRIADA,
+    SOLICITACAO_ACEITA,
+    SOLICITACAO_RECUSADA,
+    SOLICITACAO_CANCELADA
+}
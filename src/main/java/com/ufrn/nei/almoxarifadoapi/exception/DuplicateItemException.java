@@ -0,0 +1,11 @@
+package com.ufrn.nei.almoxarifadoapi.exception;
+
+public class DuplicateItemException extends RuntimeException {
+    public DuplicateItemException() {
+        super("Encontrado outro item com o mesmo código SIPAC.");
+    }
+
+    public DuplicateItemException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ufrn.nei.almoxarifadoapi.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException() {
+        super("Cursor de paginação inválido.");
+    }
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
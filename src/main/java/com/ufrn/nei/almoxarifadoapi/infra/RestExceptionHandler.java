@@ -6,6 +6,7 @@ import jakarta.mail.SendFailedException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -56,6 +57,24 @@ public class RestExceptionHandler {
                                 .body(new RestErrorMessage(request, HttpStatus.BAD_REQUEST, "Campo(s) invalido(s)"));
         }
 
+        @ExceptionHandler(DuplicateItemException.class)
+        public ResponseEntity<RestErrorMessage> handleDuplicateItemException(DuplicateItemException exception,
+                        HttpServletRequest request) {
+                log.info("API ERROR - ", exception);
+
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                                .body(new RestErrorMessage(request, HttpStatus.CONFLICT, exception.getMessage()));
+        }
+
+        @ExceptionHandler(InvalidCursorException.class)
+        public ResponseEntity<RestErrorMessage> handleInvalidCursorException(InvalidCursorException exception,
+                        HttpServletRequest request) {
+                log.info("API ERROR - ", exception);
+
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(new RestErrorMessage(request, HttpStatus.BAD_REQUEST, exception.getMessage()));
+        }
+
         @ExceptionHandler(PasswordInvalidException.class)
         public ResponseEntity<RestErrorMessage> handlePasswordInvalidException(PasswordInvalidException exception,
                         HttpServletRequest request) {
@@ -105,4 +124,15 @@ public class RestExceptionHandler {
                         .body(new RestErrorMessage(request, HttpStatus.INTERNAL_SERVER_ERROR,
                                 exception.getCause().getLocalizedMessage()));
         }
+
+        // Executor de relatórios cheio
+        @ExceptionHandler(TaskRejectedException.class)
+        public ResponseEntity<RestErrorMessage> handleTaskRejected(TaskRejectedException exception,
+                                                                   HttpServletRequest request) {
+                log.warn("API ERROR - ", exception);
+
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body(new RestErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE,
+                                "Muitos relatórios em andamento. Tente novamente em instantes."));
+        }
 }
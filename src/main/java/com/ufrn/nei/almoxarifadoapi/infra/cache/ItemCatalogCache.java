@@ -0,0 +1,219 @@
+package com.ufrn.nei.almoxarifadoapi.infra.cache;
+
+import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
+import com.ufrn.nei.almoxarifadoapi.utils.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Cache do catálogo de itens com busca por id, código SIPAC e nome. Guarda cópias imutáveis e
+// devolve uma entidade nova (desanexada) a cada acerto, então quem recebe pode alterá-la sem
+// afetar o cache. As escritas do ItemService atualizam o cache só depois do commit, junto com
+// a entrada do item no cache de segundo nível (parte delas é feita por SQL nativo).
+// Quem lê do banco para preencher o cache pega um readStamp() antes da leitura e chama
+// put(item, stamp): se o item foi invalidado depois do stamp, a leitura pode ser anterior à
+// escrita e é descartada. As invalidações são guardadas por faixa de id (STRIPES), então uma
+// colisão só descarta um preenchimento a mais.
+@Component
+public class ItemCatalogCache {
+    private static final int STRIPES = 1024;
+
+    @Value("${item.cache.max-size:1000}")
+    private int maxSize;
+
+    @Value("${item.cache.ttl:10m}")
+    private Duration ttl;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLongArray invalidatedAt = new AtomicLongArray(STRIPES);
+
+    private LinkedHashMap<Long, CachedItem> byId;
+    private final Map<Long, Long> idByCode = new HashMap<>();
+    private final Map<String, Long> idByName = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        byId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedItem> eldest) {
+                if (size() > maxSize) {
+                    unindex(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Optional<ItemEntity> getById(Long id) {
+        return count(find(id));
+    }
+
+    public Optional<ItemEntity> getByCode(Long sipacCode) {
+        synchronized (this) {
+            return count(find(idByCode.get(sipacCode)));
+        }
+    }
+
+    public Optional<ItemEntity> getByName(String name) {
+        synchronized (this) {
+            return count(find(idByName.get(name)));
+        }
+    }
+
+    public long readStamp() {
+        return invalidations.get();
+    }
+
+    // Preenchimento a partir de uma leitura feita depois de readStamp()
+    public synchronized void put(ItemEntity item, long readStamp) {
+        if (item == null || item.getId() == null || invalidatedAt.get(stripe(item.getId())) > readStamp) {
+            return;
+        }
+
+        put(item);
+    }
+
+    public synchronized void put(ItemEntity item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+
+        CachedItem previous = byId.remove(item.getId());
+        if (previous != null) {
+            unindex(previous);
+        }
+
+        CachedItem cached = CachedItem.of(item, System.nanoTime() + ttl.toNanos());
+        byId.put(cached.id(), cached);
+        if (cached.sipacCode() != null) {
+            idByCode.put(cached.sipacCode(), cached.id());
+        }
+        idByName.put(cached.name(), cached.id());
+    }
+
+    public synchronized void evict(Long id) {
+        CachedItem previous = byId.remove(id);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    // O estado gravado no cache é o da entidade no momento do commit
+    public void putAfterCommit(ItemEntity item) {
+        AfterCommit.run(() -> {
+            secondLevelCache.evict(ItemEntity.class, item.getId());
+            synchronized (this) {
+                invalidate(item.getId());
+                put(item);
+            }
+        });
+    }
+
+    public void evictAfterCommit(Long id) {
+        AfterCommit.run(() -> {
+            secondLevelCache.evict(ItemEntity.class, id);
+            synchronized (this) {
+                invalidate(id);
+                evict(id);
+            }
+        });
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    private synchronized Optional<ItemEntity> find(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        CachedItem cached = byId.get(id);
+        if (cached == null) {
+            return Optional.empty();
+        }
+
+        if (cached.expiresAt() - System.nanoTime() <= 0) {
+            evict(id);
+            return Optional.empty();
+        }
+
+        return Optional.of(cached.toEntity());
+    }
+
+    private Optional<ItemEntity> count(Optional<ItemEntity> item) {
+        if (item.isPresent()) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+
+        return item;
+    }
+
+    private void invalidate(Long id) {
+        long stamp = invalidations.incrementAndGet();
+        invalidatedAt.accumulateAndGet(stripe(id), stamp, Math::max);
+    }
+
+    private static int stripe(Long id) {
+        return (int) Math.floorMod(id, (long) STRIPES);
+    }
+
+    private void unindex(CachedItem cached) {
+        if (cached.sipacCode() != null) {
+            idByCode.remove(cached.sipacCode(), cached.id());
+        }
+        idByName.remove(cached.name(), cached.id());
+    }
+
+    private record CachedItem(Long id, String name, Long sipacCode, String sipacCodeText, int quantity, String type,
+                              Timestamp createdAt, Timestamp updatedAt, Boolean available, long expiresAt) {
+        static CachedItem of(ItemEntity item, long expiresAt) {
+            return new CachedItem(item.getId(), item.getName(), item.getSipacCode(), item.getSipacCodeText(),
+                    item.getQuantity(), item.getType(), item.getCreatedAt(), item.getUpdatedAt(),
+                    item.getAvailable(), expiresAt);
+        }
+
+        ItemEntity toEntity() {
+            ItemEntity item = new ItemEntity();
+            item.setId(id);
+            item.setName(name);
+            item.setSipacCode(sipacCode);
+            item.setSipacCodeText(sipacCodeText);
+            item.setQuantity(quantity);
+            item.setType(type);
+            item.setCreatedAt((Timestamp) createdAt.clone());
+            item.setUpdatedAt((Timestamp) updatedAt.clone());
+            item.setAvailable(available);
+
+            return item;
+        }
+    }
+}
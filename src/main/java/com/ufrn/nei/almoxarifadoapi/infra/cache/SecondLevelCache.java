@@ -0,0 +1,22 @@
+package com.ufrn.nei.almoxarifadoapi.infra.cache;
+
+import com.ufrn.nei.almoxarifadoapi.utils.AfterCommit;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Acesso ao cache de segundo nível do Hibernate (regiões em ehcache.xml). As escritas que o
+// Hibernate não enxerga (SQL nativo e triggers) precisam remover a entidade por aqui.
+@Component
+public class SecondLevelCache {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void evict(Class<?> entity, Object id) {
+        entityManagerFactory.getCache().evict(entity, id);
+    }
+
+    public void evictAfterCommit(Class<?> entity, Object id) {
+        AfterCommit.run(() -> evict(entity, id));
+    }
+}
@@ -0,0 +1,122 @@
+package com.ufrn.nei.almoxarifadoapi.infra.cache;
+
+import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
+import com.ufrn.nei.almoxarifadoapi.repository.ItemRepository;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.ItemCodeSummary;
+import com.ufrn.nei.almoxarifadoapi.utils.AfterCommit;
+import com.ufrn.nei.almoxarifadoapi.utils.LongLongHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice código SIPAC -> id do item em memória, com chaves long primitivas. Carregado na
+// subida da aplicação e mantido pelas escritas do ItemService (sempre depois do commit).
+@Slf4j
+@Component
+public class SipacCodeIndex {
+    public static final long NOT_FOUND = -1L;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private LongLongHashMap idByCode = new LongLongHashMap();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<ItemCodeSummary> codes = itemRepository.findAllCodes();
+
+        LongLongHashMap loaded = new LongLongHashMap(codes.size());
+        codes.forEach(code -> loaded.put(code.sipacCode(), code.id()));
+
+        lock.writeLock().lock();
+        try {
+            idByCode = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Índice de códigos SIPAC carregado com {} itens", loaded.size());
+    }
+
+    public long getId(long sipacCode) {
+        lock.readLock().lock();
+        try {
+            return idByCode.get(sipacCode, NOT_FOUND);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Resolve todos os códigos com uma única aquisição do lock; NOT_FOUND para os ausentes
+    public long[] getIds(long[] sipacCodes) {
+        long[] ids = new long[sipacCodes.length];
+
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < sipacCodes.length; i++) {
+                ids[i] = idByCode.get(sipacCodes[i], NOT_FOUND);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return ids;
+    }
+
+    public void put(long sipacCode, long id) {
+        lock.writeLock().lock();
+        try {
+            idByCode.put(sipacCode, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Só remove se o código ainda apontar para o mesmo item
+    public void remove(long sipacCode, long id) {
+        lock.writeLock().lock();
+        try {
+            if (idByCode.get(sipacCode, NOT_FOUND) == id) {
+                idByCode.remove(sipacCode);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return idByCode.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // O id e o código são lidos no commit, quando o item já foi gravado
+    public void putAfterCommit(ItemEntity item) {
+        AfterCommit.run(() -> {
+            if (item.getSipacCode() != null && item.getId() != null) {
+                put(item.getSipacCode(), item.getId());
+            }
+        });
+    }
+
+    public void replaceAfterCommit(Long previousCode, ItemEntity item) {
+        AfterCommit.run(() -> {
+            if (previousCode != null && !previousCode.equals(item.getSipacCode())) {
+                remove(previousCode, item.getId());
+            }
+            if (item.getSipacCode() != null) {
+                put(item.getSipacCode(), item.getId());
+            }
+        });
+    }
+}
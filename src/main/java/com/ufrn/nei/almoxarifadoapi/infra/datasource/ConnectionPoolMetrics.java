@@ -0,0 +1,148 @@
+package com.ufrn.nei.almoxarifadoapi.infra.datasource;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Métricas de cada pool Hikari (primary, replica, reporting): espera para obter uma conexão,
+// timeouts e ocupação. Registrado como MetricsTrackerFactory em todos os pools.
+// Como o pool já tem uma factory, o Spring Boot não registra as métricas hikaricp.* no Micrometer;
+// por isso cada tracker também repassa os eventos para o tracker do Micrometer.
+@Component
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final Map<String, Tracker> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        IMetricsTracker micrometer = registry == null
+                ? new IMetricsTracker() {}
+                : new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats);
+
+        Tracker tracker = new Tracker(poolStats, micrometer);
+        pools.put(poolName, tracker);
+
+        return tracker;
+    }
+
+    public Set<String> getPoolNames() {
+        return pools.keySet();
+    }
+
+    public long getAcquireCount(String pool) {
+        return tracker(pool).acquires.sum();
+    }
+
+    public double getMeanWaitMillis(String pool) {
+        Tracker tracker = tracker(pool);
+        long count = tracker.acquires.sum();
+
+        return count == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMicros(tracker.waitNanos.sum()) / count / 1000;
+    }
+
+    public double getMaxWaitMillis(String pool) {
+        return TimeUnit.NANOSECONDS.toMicros(tracker(pool).maxWaitNanos.get()) / 1000.0;
+    }
+
+    public long getTimeoutCount(String pool) {
+        return tracker(pool).timeouts.sum();
+    }
+
+    public double getMeanUsageMillis(String pool) {
+        Tracker tracker = tracker(pool);
+        long count = tracker.usages.sum();
+
+        return count == 0 ? 0 : (double) tracker.usageMillis.sum() / count;
+    }
+
+    public int getActiveConnections(String pool) {
+        return tracker(pool).stats.getActiveConnections();
+    }
+
+    public int getMaxConnections(String pool) {
+        return tracker(pool).stats.getMaxConnections();
+    }
+
+    public int getPendingThreads(String pool) {
+        return tracker(pool).stats.getPendingThreads();
+    }
+
+    // Fração do tamanho máximo do pool em uso, de 0 a 1
+    public double getUtilization(String pool) {
+        PoolStats stats = tracker(pool).stats;
+        int max = stats.getMaxConnections();
+
+        return max == 0 ? 0 : (double) stats.getActiveConnections() / max;
+    }
+
+    private Tracker tracker(String pool) {
+        Tracker tracker = pools.get(pool);
+        if (tracker == null) {
+            throw new IllegalArgumentException(String.format("Pool de conexões desconhecido: %s", pool));
+        }
+
+        return tracker;
+    }
+
+    private static class Tracker implements IMetricsTracker {
+        private final PoolStats stats;
+        private final IMetricsTracker micrometer;
+        private final LongAdder acquires = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder usages = new LongAdder();
+        private final LongAdder usageMillis = new LongAdder();
+
+        Tracker(PoolStats stats, IMetricsTracker micrometer) {
+            this.stats = stats;
+            this.micrometer = micrometer;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            micrometer.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquires.increment();
+            waitNanos.add(elapsedAcquiredNanos);
+            maxWaitNanos.accumulate(elapsedAcquiredNanos);
+            micrometer.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usages.increment();
+            usageMillis.add(elapsedBorrowedMillis);
+            micrometer.recordConnectionUsageMillis(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+            micrometer.recordConnectionTimeout();
+        }
+
+        @Override
+        public void close() {
+            micrometer.close();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ufrn.nei.almoxarifadoapi.infra.datasource;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Consultas pesadas de relatório e busca: rodam no reportingExecutor, em transação readOnly, com
+// conexões do pool de relatórios. O método deve retornar CompletableFuture.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Async("reportingExecutor")
+@Transactional(readOnly = true)
+public @interface ReportingWorkload {
+}
@@ -0,0 +1,104 @@
+package com.ufrn.nei.almoxarifadoapi.infra.datasource;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Abre um StatementCounter por requisição e, ao final, registra statements e linhas lidas por
+// endpoint e avisa no log quando passam do limite. Em endpoints assíncronos o total só é
+// conhecido quando o processamento termina.
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementCountFilter extends OncePerRequestFilter {
+    public static final String COUNTER_ATTRIBUTE = StatementCounter.class.getName();
+
+    @Value("${request.statements.enabled:true}")
+    private boolean enabled;
+
+    @Value("${request.statements.warn-threshold:20}")
+    private long warnThreshold;
+
+    @Value("${request.statements.rows-warn-threshold:1000}")
+    private long rowsWarnThreshold;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        StatementCounter counter = StatementCounter.start();
+        request.setAttribute(COUNTER_ATTRIBUTE, counter);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementCounter.stop();
+
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        report(request, counter);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                report(request, counter);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, StatementCounter counter) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        long statements = counter.getStatements();
+        long rows = counter.getRows();
+
+        DistributionSummary.builder("almoxarifado.http.statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+        DistributionSummary.builder("almoxarifado.http.rows")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(rows);
+
+        if (statements > warnThreshold || rows > rowsWarnThreshold) {
+            log.warn("{} {} executou {} statements e leu {} linhas", request.getMethod(), uri, statements, rows);
+        }
+    }
+}
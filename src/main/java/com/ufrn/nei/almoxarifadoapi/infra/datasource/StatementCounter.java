@@ -0,0 +1,65 @@
+package com.ufrn.nei.almoxarifadoapi.infra.datasource;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Statements executados e linhas lidas durante uma requisição HTTP. O contador fica na thread da
+// requisição e é repassado às threads do executor de relatórios, por isso os totais são atômicos.
+public class StatementCounter {
+    private static final ThreadLocal<StatementCounter> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    public static StatementCounter start() {
+        StatementCounter counter = new StatementCounter();
+        CURRENT.set(counter);
+
+        return counter;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public static StatementCounter current() {
+        return CURRENT.get();
+    }
+
+    // Faz a tarefa contar no contador de quem a submeteu
+    public static Runnable propagate(Runnable task) {
+        StatementCounter counter = CURRENT.get();
+        if (counter == null) {
+            return task;
+        }
+
+        return () -> {
+            StatementCounter previous = CURRENT.get();
+            CURRENT.set(counter);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    public void statementExecuted() {
+        statements.increment();
+    }
+
+    public void rowRead() {
+        rows.increment();
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+}
@@ -0,0 +1,74 @@
+package com.ufrn.nei.almoxarifadoapi.infra.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Envolve conexões, statements e result sets para contar, no StatementCounter da thread atual,
+// cada execução e cada linha lida. Sem contador ativo (tarefas agendadas, Flyway) só repassa as chamadas.
+public class StatementCountingDataSource extends DelegatingDataSource {
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return (Connection) proxy(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return (Connection) proxy(Connection.class, super.getConnection(username, password));
+    }
+
+    private static Object proxy(Class<?> type, Object target) {
+        return Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                    }
+
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+
+                    return intercept(type, method.getName(), method.getReturnType(), result);
+                });
+    }
+
+    private static Object intercept(Class<?> type, String method, Class<?> returnType, Object result) {
+        if (type == Connection.class) {
+            // createStatement, prepareStatement e prepareCall
+            return result instanceof Statement ? proxy(returnType, result) : result;
+        }
+
+        StatementCounter counter = StatementCounter.current();
+
+        if (type == ResultSet.class) {
+            if (counter != null && method.equals("next") && Boolean.TRUE.equals(result)) {
+                counter.rowRead();
+            }
+
+            return result;
+        }
+
+        if (counter != null && method.startsWith("execute")) {
+            counter.statementExecuted();
+        }
+
+        // executeQuery, getResultSet e getGeneratedKeys
+        return result instanceof ResultSet ? proxy(ResultSet.class, result) : result;
+    }
+}
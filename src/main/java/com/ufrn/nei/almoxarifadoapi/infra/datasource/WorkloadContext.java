@@ -0,0 +1,44 @@
+package com.ufrn.nei.almoxarifadoapi.infra.datasource;
+
+import java.util.function.Supplier;
+
+// Marca a thread atual como carga de relatório enquanto a tarefa roda. Preenchido pelo
+// decorador do reportingExecutor e lido pelo WorkloadRoutingDataSource.
+// Também marca as leituras que precisam do primário mesmo em transação readOnly, como as que
+// alimentam o cache de itens: um dado atrasado da réplica ficaria no cache até expirar.
+public class WorkloadContext {
+    private static final ThreadLocal<Boolean> REPORTING = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    public static boolean isReporting() {
+        return Boolean.TRUE.equals(REPORTING.get());
+    }
+
+    public static boolean isPrimary() {
+        return Boolean.TRUE.equals(PRIMARY.get());
+    }
+
+    public static Runnable reporting(Runnable task) {
+        return () -> {
+            REPORTING.set(true);
+            try {
+                task.run();
+            } finally {
+                REPORTING.remove();
+            }
+        };
+    }
+
+    public static <T> T primary(Supplier<T> task) {
+        if (isPrimary()) {
+            return task.get();
+        }
+
+        PRIMARY.set(true);
+        try {
+            return task.get();
+        } finally {
+            PRIMARY.remove();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.ufrn.nei.almoxarifadoapi.infra.datasource;
+
+import com.ufrn.nei.almoxarifadoapi.utils.AfterCommit;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Escolhe o pool de cada transação:
+// - leituras marcadas com WorkloadContext.primary vão para o primário;
+// - tarefas do reportingExecutor (@ReportingWorkload) em transação readOnly vão para o pool de relatórios;
+// - as demais transações readOnly vão para a réplica, quando configurada;
+// - o resto vai para o primário.
+// Precisa ficar atrás de um LazyConnectionDataSourceProxy, para que a conexão só seja escolhida
+// quando a transação já estiver marcada como readOnly.
+// Quem acabou de gravar continua lendo do primário durante readYourWritesWindow, para não ver
+// dados antigos enquanto a réplica não alcança o primário. Quem gravou é o usuário autenticado
+// ou, sem autenticação (cadastro e login), o endereço de origem da requisição.
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Target { PRIMARY, REPLICA, REPORTING }
+
+    // Limpeza das marcas vencidas só quando o mapa passa deste tamanho
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final Target readTarget;
+    private final long windowNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    // replica pode ser null: as leituras comuns ficam no primário
+    public WorkloadRoutingDataSource(DataSource primary, DataSource replica, DataSource reporting,
+                                     Duration readYourWritesWindow) {
+        this.readTarget = replica != null ? Target.REPLICA : Target.PRIMARY;
+        this.windowNanos = readYourWritesWindow.toNanos();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Target.PRIMARY, primary);
+        targets.put(Target.REPORTING, reporting);
+        if (replica != null) {
+            targets.put(Target.REPLICA, replica);
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+
+        String writer = currentWriter();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (writer != null && windowNanos > 0) {
+                AfterCommit.run(() -> markWrite(writer));
+            }
+            return Target.PRIMARY;
+        }
+
+        if (WorkloadContext.isPrimary() || wroteRecently(writer)) {
+            return Target.PRIMARY;
+        }
+
+        return WorkloadContext.isReporting() ? Target.REPORTING : readTarget;
+    }
+
+    private void markWrite(String writer) {
+        long now = System.nanoTime();
+
+        if (lastWrites.size() > CLEANUP_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+        }
+        lastWrites.put(writer, now);
+    }
+
+    private boolean wroteRecently(String writer) {
+        if (writer == null) {
+            return false;
+        }
+
+        Long writtenAt = lastWrites.get(writer);
+        if (writtenAt == null) {
+            return false;
+        }
+
+        if (System.nanoTime() - writtenAt > windowNanos) {
+            lastWrites.remove(writer, writtenAt);
+            return false;
+        }
+
+        return true;
+    }
+
+    private String currentWriter() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getRemoteAddr();
+        }
+
+        return null;
+    }
+}
@@ -1,5 +1,7 @@
 package com.ufrn.nei.almoxarifadoapi.infra.jwt;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,7 +19,13 @@ import java.io.IOException;
 @Slf4j
 public class JwtAuthorizationFilter extends OncePerRequestFilter {
     @Autowired
-    private JwtUserDetailsService detailsService;
+    private JwtVerifier jwtVerifier;
+
+    @Autowired
+    private JwtUserVersionRegistry versionRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -26,28 +34,46 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
         if (token == null || !token.startsWith(JwtUtils.JWT_BEARER)) {
             log.info("JWT Token está nulo, vazio ou não iniciado com 'Bearer '.");
+            countVerification("absent");
             filterChain.doFilter(request, response);
 
             return;
         }
 
-        if (!JwtUtils.isTokenValid(token)) {
+        Claims claims = jwtVerifier.verify(token);
+
+        if (claims == null) {
             log.warn("JWT Token está inválido ou expirado.");
+            countVerification("invalid");
+            filterChain.doFilter(request, response);
+
+            return;
+        }
+
+        Long id = claims.get(JwtUtils.JWT_CLAIM_ID, Long.class);
+        Integer version = claims.get(JwtUtils.JWT_CLAIM_VERSION, Integer.class);
+
+        if (!versionRegistry.isValid(id, version)) {
+            log.warn("JWT Token revogado ou de usuário desativado.");
+            countVerification("revoked");
             filterChain.doFilter(request, response);
 
             return;
         }
 
-        String username = JwtUtils.getUsernameFromToken(token);
+        String role = JwtUtils.ROLE_PREFIX + claims.get(JwtUtils.JWT_CLAIM_ROLE, String.class);
 
-        toAuthentication(request, username);
+        toAuthentication(request, new JwtUserDetails(id, claims.getSubject(), role));
+        countVerification("valid");
 
         filterChain.doFilter(request, response);
     }
 
-    private void toAuthentication(HttpServletRequest request, String username) {
-        UserDetails userDetails = detailsService.loadUserByUsername(username);
+    private void countVerification(String outcome) {
+        meterRegistry.counter("almoxarifado.jwt.verifications", "outcome", outcome).increment();
+    }
 
+    private void toAuthentication(HttpServletRequest request, UserDetails userDetails) {
         UsernamePasswordAuthenticationToken authenticationToken = UsernamePasswordAuthenticationToken
                 .authenticated(userDetails, null, userDetails.getAuthorities());
 
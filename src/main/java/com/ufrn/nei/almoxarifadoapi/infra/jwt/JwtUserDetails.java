@@ -5,18 +5,29 @@ import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.User;
 
 public class JwtUserDetails extends User {
-    private UserEntity user;
+    private final Long id;
+    private final String role;
 
     public JwtUserDetails(UserEntity user) {
-        super(user.getEmail(), user.getPassword(), AuthorityUtils.createAuthorityList(user.getRole().getRole()));
-        this.user = user;
+        super(user.getEmail(), user.getPassword(), user.getActive(), true, true, true,
+                AuthorityUtils.createAuthorityList(user.getRole().getRole()));
+        this.id = user.getId();
+        this.role = user.getRole().getRole();
+    }
+
+    // Usado pelo filtro de autorização: monta o principal a partir das claims já verificadas do token,
+    // sem consultar o banco. A senha não é necessária após a autenticação.
+    public JwtUserDetails(Long id, String email, String role) {
+        super(email, "", AuthorityUtils.createAuthorityList(role));
+        this.id = id;
+        this.role = role;
     }
 
     public Long getId() {
-        return this.user.getId();
+        return this.id;
     }
 
     public String getRole() {
-        return this.user.getRole().getRole();
+        return this.role;
     }
-}
\ No newline at end of file
+}
@@ -27,12 +27,13 @@ public class JwtUserDetailsService implements UserDetailsService {
     }
 
     public JwtToken getTokenAuthenticated(String email) {
-        String role = userService.findByEmail(email).getRole().getRole();
+        UserEntity user = userService.findByEmail(email);
+        String role = user.getRole().getRole();
 
-        if (role.contains("ROLE_")) {
-            role = role.substring("ROLE_".length());
+        if (role.contains(JwtUtils.ROLE_PREFIX)) {
+            role = role.substring(JwtUtils.ROLE_PREFIX.length());
         }
 
-        return JwtUtils.createToken(email, role.toUpperCase());
+        return JwtUtils.createToken(user.getId(), email, role.toUpperCase(), user.getTokenVersion());
     }
 }
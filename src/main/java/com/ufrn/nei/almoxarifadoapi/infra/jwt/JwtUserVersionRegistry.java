@@ -0,0 +1,65 @@
+package com.ufrn.nei.almoxarifadoapi.infra.jwt;
+
+import com.ufrn.nei.almoxarifadoapi.repository.UserRepository;
+import com.ufrn.nei.almoxarifadoapi.utils.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class JwtUserVersionRegistry {
+    @Autowired
+    private UserRepository userRepository;
+
+    // Versão atual dos tokens de cada usuário (ausente = 0). Tokens emitidos com versão diferente são rejeitados.
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    private final Set<Long> disabledUsers = ConcurrentHashMap.newKeySet();
+
+    // A versão fica na coluna versao_token; o mapa é só um cache dela para não consultar o banco a cada requisição.
+    @PostConstruct
+    public void load() {
+        refresh();
+
+        log.info("{} usuário(s) desativado(s) e {} versão(ões) de token carregado(s) para validação de tokens",
+                disabledUsers.size(), versions.size());
+    }
+
+    // Cada instância tem o próprio cache. Trocas de senha e desativações feitas em outra instância
+    // chegam a esta na releitura, com atraso de até jwt.user-version.refresh-interval.
+    // Não há reativação de usuários, então os desativados só são acrescentados.
+    @Scheduled(fixedDelayString = "${jwt.user-version.refresh-interval:30000}",
+            initialDelayString = "${jwt.user-version.refresh-interval:30000}")
+    public void refresh() {
+        disabledUsers.addAll(userRepository.findIdsByActiveFalse());
+        userRepository.findTokenVersions().forEach(user -> versions.merge(user.id(), user.version(), Math::max));
+    }
+
+    public Integer getVersion(Long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    public boolean isValid(Long userId, Integer version) {
+        if (userId == null || version == null || disabledUsers.contains(userId)) {
+            return false;
+        }
+
+        return getVersion(userId).equals(version);
+    }
+
+    // Chamados dentro da transação que grava a mudança; só valem depois do commit.
+    public void invalidate(Long userId, Integer version) {
+        AfterCommit.run(() -> versions.merge(userId, version, Math::max));
+    }
+
+    public void disable(Long userId) {
+        AfterCommit.run(() -> disabledUsers.add(userId));
+    }
+}
@@ -1,11 +1,10 @@
 package com.ufrn.nei.almoxarifadoapi.infra.jwt;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.NoArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
@@ -13,19 +12,21 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
 
-@Slf4j
 @NoArgsConstructor
 public class JwtUtils {
     public static final String JWT_BEARER = "Bearer ";
     public static final String JWT_AUTHORIZATION = "Authorization";
     public static final String SECRET_KEY = "0123456789-0123456789-0123456789";
+    public static final String JWT_CLAIM_ID = "id";
+    public static final String JWT_CLAIM_ROLE = "role";
+    public static final String JWT_CLAIM_VERSION = "version";
+    public static final String ROLE_PREFIX = "ROLE_";
     public static final Long EXPIRE_DAYS = 0L;
     public static final Long EXPIRE_HOURS = 10L;
     public static final Long EXPIRE_MINUTES = 0L;
 
-    private static SecretKey generateKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
-    }
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    private static final JwtParser PARSER = Jwts.parser().verifyWith(KEY).build();
 
     private static Date toExpireDate(Date start) {
         LocalDateTime dateTime = start.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
@@ -34,7 +35,7 @@ public class JwtUtils {
         return Date.from(end.atZone(ZoneId.systemDefault()).toInstant());
     }
 
-    public static JwtToken createToken(String email, String role) {
+    public static JwtToken createToken(Long id, String email, String role, Integer version) {
         Date issuedAt = new Date();
         Date limit = toExpireDate(issuedAt);
 
@@ -44,42 +45,18 @@ public class JwtUtils {
                 .subject(email)
                 .issuedAt(issuedAt)
                 .expiration(limit)
-                .signWith(generateKey())
-                .claim("role", role)
+                .signWith(KEY)
+                .claim(JWT_CLAIM_ID, id)
+                .claim(JWT_CLAIM_ROLE, role)
+                .claim(JWT_CLAIM_VERSION, version)
                 .compact();
 
         return new JwtToken(token);
     }
 
-    private static Claims getClaimsFromToken(String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith(generateKey())
-                    .build()
-                    .parseSignedClaims(refactorToken(token)).getPayload();
-        } catch (JwtException ex) {
-            log.error(String.format("Token inválido %s", ex.getMessage()));
-        }
-
-        return null;
-    }
-
-    public static String getUsernameFromToken(String token) {
-        return getClaimsFromToken(token).getSubject();
-    }
-
-    public static Boolean isTokenValid(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(generateKey())
-                    .build()
-                    .parseSignedClaims(refactorToken(token));
-            return Boolean.TRUE;
-        } catch (JwtException ex) {
-            log.error(String.format("Token invalido %s", ex.getMessage()));
-        }
-
-        return Boolean.FALSE;
+    // Valida assinatura e expiração em um único parse. Lança JwtException se o token for inválido.
+    public static Claims parseClaims(String token) {
+        return PARSER.parseSignedClaims(refactorToken(token)).getPayload();
     }
 
     private static String refactorToken(String token) {
@@ -89,6 +66,4 @@ public class JwtUtils {
 
         return token;
     }
-
-
 }
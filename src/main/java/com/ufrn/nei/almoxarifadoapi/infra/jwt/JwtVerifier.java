@@ -0,0 +1,77 @@
+package com.ufrn.nei.almoxarifadoapi.infra.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class JwtVerifier {
+    @Value("${jwt.cache.max-size:10000}")
+    private int maxSize;
+
+    // Claims já verificados, indexados pelo hash do token. O mais antigo é descartado ao atingir o limite.
+    private Map<String, Claims> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public Claims verify(String token) {
+        String key = digest(token);
+        Claims cached = cache.get(key);
+
+        if (cached != null) {
+            if (!isExpired(cached)) {
+                return cached;
+            }
+
+            cache.remove(key);
+        }
+
+        try {
+            Claims claims = JwtUtils.parseClaims(token);
+            cache.put(key, claims);
+
+            return claims;
+        } catch (JwtException ex) {
+            log.error(String.format("Token inválido %s", ex.getMessage()));
+        }
+
+        return null;
+    }
+
+    private boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+
+        return expiration != null && !expiration.after(new Date());
+    }
+
+    private String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
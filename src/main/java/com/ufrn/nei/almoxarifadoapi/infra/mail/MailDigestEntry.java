@@ -0,0 +1,6 @@
+package com.ufrn.nei.almoxarifadoapi.infra.mail;
+
+import java.sql.Timestamp;
+
+public record MailDigestEntry(String itemName, Long quantity, String status, Timestamp date) {
+}
@@ -0,0 +1,15 @@
+package com.ufrn.nei.almoxarifadoapi.infra.mail;
+
+import org.springframework.mail.SimpleMailMessage;
+
+public record MailMessage(String from, String to, String subject, String text) {
+    public SimpleMailMessage toSimpleMailMessage() {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(to);
+        message.setSubject(subject);
+        message.setText(text);
+
+        return message;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ufrn.nei.almoxarifadoapi.infra.mail;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Métricas do executor de emails: tarefas aguardando, envios em andamento e latência do SMTP.
+// Também serve de TaskDecorator para o executor, que conta as tarefas aguardando e em andamento.
+@Component
+public class MailMetrics implements TaskDecorator {
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder sends = new LongAdder();
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        queued.incrementAndGet();
+
+        return () -> {
+            queued.decrementAndGet();
+            active.incrementAndGet();
+            try {
+                runnable.run();
+            } finally {
+                active.decrementAndGet();
+            }
+        };
+    }
+
+    public void recordSend(int messageCount, int failedCount, long nanos) {
+        sends.increment();
+        messages.add(messageCount);
+        failures.add(failedCount);
+        totalNanos.add(nanos);
+    }
+
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    public int getActiveSends() {
+        return active.get();
+    }
+
+    public long getSendCount() {
+        return sends.sum();
+    }
+
+    public long getMessageCount() {
+        return messages.sum();
+    }
+
+    public long getFailedMessageCount() {
+        return failures.sum();
+    }
+
+    public long getTotalSendNanos() {
+        return totalNanos.sum();
+    }
+}
@@ -0,0 +1,113 @@
+package com.ufrn.nei.almoxarifadoapi.infra.mail;
+
+import com.ufrn.nei.almoxarifadoapi.entity.MailOutboxEntity;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class MailOutboxDispatcher {
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    @Qualifier("mailExecutor")
+    private AsyncTaskExecutor mailExecutor;
+
+    @Autowired
+    private MailMetrics mailMetrics;
+
+    @Value("${mail.outbox.batch-size}")
+    private int batchSize;
+
+    // Esvazia a fila em lotes. Cada lote é enviado com uma única chamada a send(...), que
+    // reaproveita a mesma conexão SMTP para todas as mensagens. Os lotes rodam no mailExecutor;
+    // quando ele está cheio o próprio agendador envia, e só volta a reservar depois disso.
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval}")
+    public void dispatch() {
+        List<MailOutboxEntity> batch;
+        do {
+            batch = mailService.claimBatch(batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<MailOutboxEntity> claimed = batch;
+            mailExecutor.execute(() -> process(claimed));
+        } while (batch.size() >= batchSize);
+    }
+
+    // Libera as notificações retidas para resumo e despacha o que houver antes de desligar.
+    // O mailExecutor é destruído depois deste bean e aguarda os lotes em andamento.
+    @PreDestroy
+    public void flush() {
+        int released = mailService.releaseHeld();
+        if (released > 0) {
+            log.info("Liberando {} notificações retidas antes do desligamento", released);
+        }
+
+        dispatch();
+    }
+
+    private void process(List<MailOutboxEntity> batch) {
+        Map<Long, String> failures = send(mailService.buildMessages(batch));
+
+        mailService.completeBatch(batch, failures);
+
+        log.info("Lote de emails processado: {} linhas enviadas, {} com falha",
+                batch.size() - failures.size(), failures.size());
+    }
+
+    private Map<Long, String> send(List<PendingMail> pending) {
+        Map<Long, String> failures = new HashMap<>();
+        Map<SimpleMailMessage, List<Long>> ids = new IdentityHashMap<>();
+        SimpleMailMessage[] messages = new SimpleMailMessage[pending.size()];
+
+        for (int i = 0; i < pending.size(); i++) {
+            messages[i] = pending.get(i).message().toSimpleMailMessage();
+            ids.put(messages[i], pending.get(i).ids());
+        }
+
+        int failed = 0;
+        long start = System.nanoTime();
+        try {
+            javaMailSender.send(messages);
+        } catch (MailSendException ex) {
+            // Sem mensagens individuais a falha foi na conexão e o lote inteiro volta para a fila
+            if (ex.getFailedMessages().isEmpty()) {
+                failed = messages.length;
+                ids.values().forEach(mailIds -> mailIds.forEach(id -> failures.put(id, ex.getMessage())));
+            } else {
+                failed = ex.getFailedMessages().size();
+                ex.getFailedMessages().forEach((message, cause) ->
+                        ids.get(message).forEach(id -> failures.put(id, cause.getMessage())));
+            }
+        } catch (MailException ex) {
+            log.error("Erro ao enviar lote de emails - {}", ex.getMessage());
+            failed = messages.length;
+            ids.values().forEach(mailIds -> mailIds.forEach(id -> failures.put(id, ex.getMessage())));
+        } finally {
+            mailMetrics.recordSend(messages.length, failed, System.nanoTime() - start);
+        }
+
+        return failures;
+    }
+}
@@ -1,94 +1,249 @@
 package com.ufrn.nei.almoxarifadoapi.infra.mail;
 
+import com.ufrn.nei.almoxarifadoapi.entity.MailOutboxEntity;
+import com.ufrn.nei.almoxarifadoapi.enums.MailOutboxStatusEnum;
+import com.ufrn.nei.almoxarifadoapi.enums.MailTypeEnum;
+import com.ufrn.nei.almoxarifadoapi.repository.MailOutboxRepository;
+import com.ufrn.nei.almoxarifadoapi.utils.AfterCommit;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.MailAuthenticationException;
-import org.springframework.mail.MailSendException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
-import java.util.concurrent.CompletableFuture;
-
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Os emails não são mais enviados aqui: cada método grava uma linha em email_outbox na
+// transação de quem chamou, e o MailOutboxDispatcher faz o envio em lotes depois do commit.
+// As notificações de solicitação ficam retidas por mail.digest.window para que as de um mesmo
+// usuário saiam juntas em um único resumo.
 @Slf4j
 @Service
 public class MailService {
     @Autowired
-    private JavaMailSender javaMailSender;
+    private MailOutboxRepository mailOutboxRepository;
+
     @Autowired
     private MailTemplates mailTemplates;
 
-    @Async
-    public void sendMailUserCreatedAsync(String userEmail, String userName) {
-        SimpleMailMessage message = mailTemplates.buildMailMessageUserCreated(userEmail, userName);
+    @Value("${mail.outbox.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.backoff}")
+    private Duration backoff;
+
+    @Value("${mail.outbox.max-backoff}")
+    private Duration maxBackoff;
+
+    @Value("${mail.outbox.lease}")
+    private Duration lease;
+
+    @Value("${mail.digest.window}")
+    private Duration digestWindow;
+
+    @Value("${mail.digest.max-size}")
+    private int digestMaxSize;
+
+    // Contadores de transições de status desde a subida da aplicação. Só contam depois do commit,
+    // para que um rollback de quem chamou não deixe transições que não aconteceram.
+    private final Map<MailOutboxStatusEnum, AtomicLong> counters = new EnumMap<>(MailOutboxStatusEnum.class);
+
+    public MailService() {
+        for (MailOutboxStatusEnum status : MailOutboxStatusEnum.values()) {
+            counters.put(status, new AtomicLong());
+        }
+    }
 
-        CompletableFuture<Boolean> sender = buildSendEmailAsync(message);
+    @Transactional
+    public void sendMailUserCreated(String userEmail, String userName) {
+        enqueue(new MailOutboxEntity(MailTypeEnum.USUARIO_CRIADO, userEmail, userName, null, null, null));
+    }
 
-        sender.join();
+    @Transactional
+    public void sendMailRequestCreated(String userEmail, String userName,
+                                       String itemName, Timestamp date, Long itemQuantity) {
+        enqueue(new MailOutboxEntity(MailTypeEnum.SOLICITACAO_CRIADA, userEmail, userName, itemName, itemQuantity, date));
     }
 
-    @Async
-    public void sendMailRequestCreatedAsync(String userEmail, String userName,
-                                               String itemName, Timestamp date, Long itemQuantity) {
-        SimpleMailMessage message =
-                mailTemplates.buildMailMessageRequestCreated(userEmail, userName, itemName, date, itemQuantity);
+    @Transactional
+    public void sendMailRequestAccepted(String userEmail, String userName,
+                                        String itemName, Timestamp date, Long itemQuantity) {
+        enqueue(new MailOutboxEntity(MailTypeEnum.SOLICITACAO_ACEITA, userEmail, userName, itemName, itemQuantity, date));
+    }
 
-        CompletableFuture<Boolean> sender = buildSendEmailAsync(message);
+    @Transactional
+    public void sendMailRequestDenied(String userEmail, String userName,
+                                      String itemName, Timestamp date, Long itemQuantity) {
+        enqueue(new MailOutboxEntity(MailTypeEnum.SOLICITACAO_RECUSADA, userEmail, userName, itemName, itemQuantity, date));
+    }
 
-        sender.join();
+    @Transactional
+    public void sendMailRequestCanceled(String userEmail, String userName,
+                                        String itemName, Timestamp date, Long itemQuantity) {
+        enqueue(new MailOutboxEntity(MailTypeEnum.SOLICITACAO_CANCELADA, userEmail, userName, itemName, itemQuantity, date));
     }
 
-    @Async
-    public void sendMailRequestAcceptedAsync(String userEmail, String userName,
-                                               String itemName, Timestamp date, Long itemQuantity) {
-        SimpleMailMessage message =
-                mailTemplates.buildMailMessageRequestAccepted(userEmail, userName, itemName, date, itemQuantity);
+    @Transactional
+    public List<MailOutboxEntity> claimBatch(int batchSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp leaseUntil = Timestamp.valueOf(now.toLocalDateTime().plus(lease));
 
-        CompletableFuture<Boolean> sender = buildSendEmailAsync(message);
+        List<MailOutboxEntity> batch = mailOutboxRepository.claimBatch(now, leaseUntil, batchSize);
+        countAfterCommit(MailOutboxStatusEnum.ENVIANDO, batch.size());
 
-        sender.join();
+        return batch;
     }
 
-    @Async
-    public void sendMailRequestDeniedAsync(String userEmail, String userName,
-                                             String itemName, Timestamp date, Long itemQuantity) {
-        SimpleMailMessage message =
-                mailTemplates.buildMailMessageRequestDenied(userEmail, userName, itemName, date, itemQuantity);
+    // Conclui um lote reservado: marca os enviados e reagenda as falhas com backoff exponencial.
+    // Quem excede o número máximo de tentativas fica como FALHOU e não é mais reenviado.
+    @Transactional
+    public void completeBatch(List<MailOutboxEntity> batch, Map<Long, String> failures) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Long> sentIds = new ArrayList<>();
+        for (MailOutboxEntity mail : batch) {
+            if (!failures.containsKey(mail.getId())) {
+                sentIds.add(mail.getId());
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            mailOutboxRepository.markSent(sentIds, now, MailOutboxStatusEnum.ENVIADO);
+            countAfterCommit(MailOutboxStatusEnum.ENVIADO, sentIds.size());
+        }
 
-        CompletableFuture<Boolean> sender = buildSendEmailAsync(message);
+        if (failures.isEmpty()) {
+            return;
+        }
 
-        sender.join();
+        for (MailOutboxEntity mail : mailOutboxRepository.findAllById(failures.keySet())) {
+            String error = failures.get(mail.getId());
+            mail.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+
+            if (mail.getAttempts() >= maxAttempts) {
+                mail.setStatus(MailOutboxStatusEnum.FALHOU);
+                countAfterCommit(MailOutboxStatusEnum.FALHOU, 1);
+                log.error("Email id={} para {} descartado após {} tentativas: {}",
+                        mail.getId(), mail.getRecipient(), mail.getAttempts(), error);
+            } else {
+                mail.setStatus(MailOutboxStatusEnum.PENDENTE);
+                mail.setNextAttemptAt(Timestamp.valueOf(now.toLocalDateTime().plus(backoffFor(mail.getAttempts()))));
+                countAfterCommit(MailOutboxStatusEnum.PENDENTE, 1);
+                log.warn("Falha ao enviar email id={} para {} (tentativa {}): {}",
+                        mail.getId(), mail.getRecipient(), mail.getAttempts(), error);
+            }
+        }
     }
 
-    @Async
-    public void sendMailRequestCanceledAsync(String userEmail, String userName,
-                                           String itemName, Timestamp date, Long itemQuantity) {
-        SimpleMailMessage message =
-                mailTemplates.buildMailMessageRequestCanceled(userEmail, userName, itemName, date, itemQuantity);
+    // Agrupa o lote em emails: as notificações de solicitação de um mesmo destinatário viram
+    // um resumo quando há mais de uma; as demais seguem uma por email.
+    public List<PendingMail> buildMessages(List<MailOutboxEntity> batch) {
+        List<PendingMail> messages = new ArrayList<>();
+        Map<String, List<MailOutboxEntity>> digests = new LinkedHashMap<>();
+
+        for (MailOutboxEntity mail : batch) {
+            if (mail.getType() == MailTypeEnum.USUARIO_CRIADO) {
+                messages.add(new PendingMail(List.of(mail.getId()), buildMessage(mail)));
+            } else {
+                digests.computeIfAbsent(mail.getRecipient(), recipient -> new ArrayList<>()).add(mail);
+            }
+        }
 
-        CompletableFuture<Boolean> sender = buildSendEmailAsync(message);
+        for (List<MailOutboxEntity> mails : digests.values()) {
+            if (mails.size() == 1) {
+                MailOutboxEntity mail = mails.get(0);
+                messages.add(new PendingMail(List.of(mail.getId()), buildMessage(mail)));
+                continue;
+            }
 
-        sender.join();
+            mails.sort(Comparator.comparing(MailOutboxEntity::getId));
+            MailOutboxEntity last = mails.get(mails.size() - 1);
+
+            List<MailDigestEntry> entries = mails.stream()
+                    .map(mail -> new MailDigestEntry(mail.getItemName(), mail.getQuantity(),
+                            statusLabel(mail.getType()), mail.getEventDate()))
+                    .toList();
+
+            messages.add(new PendingMail(mails.stream().map(MailOutboxEntity::getId).toList(),
+                    mailTemplates.buildMailMessageDigest(last.getRecipient(), last.getUserName(), entries)));
+        }
+
+        return messages;
+    }
+
+    // Chamado no desligamento para não segurar notificações até a próxima subida
+    @Transactional
+    public int releaseHeld() {
+        return mailOutboxRepository.releaseHeld(null, Timestamp.valueOf(LocalDateTime.now()),
+                MailOutboxStatusEnum.PENDENTE);
     }
 
-    @Async
-    private CompletableFuture<Boolean> buildSendEmailAsync(SimpleMailMessage simpleMailMessage) {
-        CompletableFuture<Boolean> future = new CompletableFuture<>();
-        try {
-            javaMailSender.send(simpleMailMessage);
+    public Map<MailOutboxStatusEnum, Long> getCounters() {
+        Map<MailOutboxStatusEnum, Long> snapshot = new EnumMap<>(MailOutboxStatusEnum.class);
+        counters.forEach((status, counter) -> snapshot.put(status, counter.get()));
+
+        return Collections.unmodifiableMap(snapshot);
+    }
 
-            log.info("Email enviado com sucesso para {}", simpleMailMessage.getTo());
-            future.complete(Boolean.TRUE);
-        } catch (MailSendException ex) {
-            log.error("Erro ao enviar email para {}: {}", simpleMailMessage.getTo(), ex.getMessage());
-            future.completeExceptionally(new MailSendException("Erro ao enviar email"));
-        } catch (MailAuthenticationException ex) {
-            log.error("Erro na autenticação do email - {}", ex.getMessage());
-            future.completeExceptionally(new MailAuthenticationException("Erro na autenticação do email"));
+    private void enqueue(MailOutboxEntity mail) {
+        boolean held = mail.getType() != MailTypeEnum.USUARIO_CRIADO && !digestWindow.isZero();
+        if (held) {
+            mail.setNextAttemptAt(Timestamp.valueOf(LocalDateTime.now().plus(digestWindow)));
         }
 
-        return future;
+        mailOutboxRepository.save(mail);
+        countAfterCommit(MailOutboxStatusEnum.PENDENTE, 1);
+
+        // Atingido o tamanho máximo, o resumo do destinatário é liberado sem esperar a janela
+        if (held && mailOutboxRepository.countByRecipientAndStatusAndTypeNot(mail.getRecipient(),
+                MailOutboxStatusEnum.PENDENTE, MailTypeEnum.USUARIO_CRIADO) >= digestMaxSize) {
+            mailOutboxRepository.releaseHeld(mail.getRecipient(), Timestamp.valueOf(LocalDateTime.now()),
+                    MailOutboxStatusEnum.PENDENTE);
+        }
+    }
+
+    private void countAfterCommit(MailOutboxStatusEnum status, long delta) {
+        AfterCommit.run(() -> counters.get(status).addAndGet(delta));
+    }
+
+    private MailMessage buildMessage(MailOutboxEntity mail) {
+        return switch (mail.getType()) {
+            case USUARIO_CRIADO -> mailTemplates.buildMailMessageUserCreated(mail.getRecipient(), mail.getUserName());
+            case SOLICITACAO_CRIADA -> mailTemplates.buildMailMessageRequestCreated(mail.getRecipient(),
+                    mail.getUserName(), mail.getItemName(), mail.getEventDate(), mail.getQuantity());
+            case SOLICITACAO_ACEITA -> mailTemplates.buildMailMessageRequestAccepted(mail.getRecipient(),
+                    mail.getUserName(), mail.getItemName(), mail.getEventDate(), mail.getQuantity());
+            case SOLICITACAO_RECUSADA -> mailTemplates.buildMailMessageRequestDenied(mail.getRecipient(),
+                    mail.getUserName(), mail.getItemName(), mail.getEventDate(), mail.getQuantity());
+            case SOLICITACAO_CANCELADA -> mailTemplates.buildMailMessageRequestCanceled(mail.getRecipient(),
+                    mail.getUserName(), mail.getItemName(), mail.getEventDate(), mail.getQuantity());
+        };
+    }
+
+    private String statusLabel(MailTypeEnum type) {
+        return switch (type) {
+            case SOLICITACAO_CRIADA -> "criada";
+            case SOLICITACAO_ACEITA -> "aceita";
+            case SOLICITACAO_RECUSADA -> "recusada";
+            case SOLICITACAO_CANCELADA -> "cancelada";
+            default -> type.name().toLowerCase();
+        };
+    }
+
+    private Duration backoffFor(int attempts) {
+        // backoff * 2^(tentativas - 1), limitado por maxBackoff
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
     }
 }
@@ -0,0 +1,66 @@
+package com.ufrn.nei.almoxarifadoapi.infra.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Modelo de texto compilado uma única vez: o texto é quebrado em trechos fixos e posições
+// de variáveis ({nome}, {item}, ...). A renderização só concatena, sem String.format, e a
+// instância é imutável, podendo ser compartilhada entre threads.
+public final class MailTemplate {
+    private final String[] literals;
+    private final int[] slots;
+    private final int literalLength;
+
+    private MailTemplate(String[] literals, int[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static MailTemplate compile(String source, List<String> variables) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+
+        int start = 0;
+        int open;
+        while ((open = source.indexOf('{', start)) >= 0) {
+            int close = source.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException(String.format("Variável não fechada na posição %d do modelo", open));
+            }
+
+            String name = source.substring(open + 1, close);
+            int slot = variables.indexOf(name);
+            if (slot < 0) {
+                throw new IllegalArgumentException(String.format("Variável '%s' desconhecida no modelo", name));
+            }
+
+            literals.add(source.substring(start, open));
+            slots.add(slot);
+            start = close + 1;
+        }
+        literals.add(source.substring(start));
+
+        return new MailTemplate(literals.toArray(String[]::new), slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // Os valores seguem a ordem da lista de variáveis informada na compilação
+    public String render(String... values) {
+        int length = literalLength;
+        for (int slot : slots) {
+            length += values[slot].length();
+        }
+
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(literals[i]).append(values[slots[i]]);
+        }
+
+        return builder.append(literals[slots.length]).toString();
+    }
+}
@@ -1,148 +1,156 @@
 package com.ufrn.nei.almoxarifadoapi.infra.mail;
 
 import com.ufrn.nei.almoxarifadoapi.utils.RefactorDate;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.sql.Timestamp;
+import java.util.List;
 
+// Os modelos são compilados na inicialização e cada chamada devolve uma MailMessage nova,
+// então os métodos podem ser usados por várias threads ao mesmo tempo.
 @Component
 public class MailTemplates {
-    @Autowired
-    private SimpleMailMessage simpleMailMessage;
+    private static final List<String> VARIABLES = List.of("nome", "item", "quantidade", "data");
 
-    public SimpleMailMessage buildMailMessageUserCreated(String userEmail, String userName) {
-        String subject = "Sua conta foi criada com sucesso!";
-        String text = String.format("""
-                Olá %s,
+    private static final MailTemplate USER_CREATED = MailTemplate.compile("""
+            Olá {nome},
 
-                Seja bem-vindo ao nosso sistema de solicitação de itens do almoxarifado! Estamos muito felizes em tê-lo conosco.
+            Seja bem-vindo ao nosso sistema de solicitação de itens do almoxarifado! Estamos muito felizes em tê-lo conosco.
 
-                Com este sistema, você terá acesso a uma variedade de itens disponíveis em nosso almoxarifado, tornando mais fácil e conveniente solicitar o que você precisa para suas atividades.
+            Com este sistema, você terá acesso a uma variedade de itens disponíveis em nosso almoxarifado, tornando mais fácil e conveniente solicitar o que você precisa para suas atividades.
 
-                Aqui estão algumas coisas que você pode fazer com a sua nova conta:
-                - Explorar nosso catálogo de itens disponíveis.
-                - Criar solicitações para itens que você precisa.
-                - Acompanhar o status das suas solicitações.
-                - Receber notificações sobre o progresso das suas solicitações.
+            Aqui estão algumas coisas que você pode fazer com a sua nova conta:
+            - Explorar nosso catálogo de itens disponíveis.
+            - Criar solicitações para itens que você precisa.
+            - Acompanhar o status das suas solicitações.
+            - Receber notificações sobre o progresso das suas solicitações.
 
-                Estamos sempre trabalhando para melhorar nossa plataforma e proporcionar uma experiência mais eficiente para todos os nossos usuários.
+            Estamos sempre trabalhando para melhorar nossa plataforma e proporcionar uma experiência mais eficiente para todos os nossos usuários.
 
-                Se precisar de ajuda ou tiver alguma dúvida, não hesite em entrar em contato conosco. Estamos aqui para ajudar!
+            Se precisar de ajuda ou tiver alguma dúvida, não hesite em entrar em contato conosco. Estamos aqui para ajudar!
 
-                Mais uma vez, obrigado por se juntar a nós. Esperamos que você aproveite ao máximo o nosso sistema de solicitação de itens do almoxarifado.
+            Mais uma vez, obrigado por se juntar a nós. Esperamos que você aproveite ao máximo o nosso sistema de solicitação de itens do almoxarifado.
 
-                Atenciosamente,
-                Equipe do NEI""", userName);
+            Atenciosamente,
+            Equipe do NEI""", VARIABLES);
 
-        simpleMailMessage.setTo(userEmail);
-        simpleMailMessage.setSubject(subject);
-        simpleMailMessage.setText(text);
+    private static final MailTemplate REQUEST_CREATED = MailTemplate.compile("""
+            Olá {nome},
 
-        return simpleMailMessage;
-    }
+            Sua solicitação do item '{item}' foi realizada com sucesso!
 
-    public SimpleMailMessage buildMailMessageRequestCreated(String userEmail, String userName,
-                                                            String itemName, Timestamp date, Long itemQuantity) {
-        String formatDate = RefactorDate.refactorTimestamp(date);
+            Detalhes:
+            - Item: {item}
+            - Quantidade: {quantidade}
+            - Hora da Solicitação: {data}
 
-        String subject = "Sua Solicitação foi criada com sucesso!";
-        String text = String.format("""
-                        Olá %s,
+            Obrigado por utilizar nosso sistema.""", VARIABLES);
 
-                        Sua solicitação do item '%s' foi realizada com sucesso!
+    private static final MailTemplate REQUEST_ACCEPTED = MailTemplate.compile("""
+            Olá {nome},
 
-                        Detalhes:
-                        - Item: %s
-                        - Quantidade: %d
-                        - Hora da Solicitação: %s
+            Sua solicitação do item '{item}' foi aceita!
 
-                        Obrigado por utilizar nosso sistema.""",
-                userName, itemName, itemName, itemQuantity, formatDate);
+            Detalhes:
+            - Item: {item}
+            - Quantidade: {quantidade}
+            - Hora da Aceitação: {data}
 
-        simpleMailMessage.setTo(userEmail);
-        simpleMailMessage.setSubject(subject);
-        simpleMailMessage.setText(text);
+            Obrigado por utilizar nosso sistema.""", VARIABLES);
 
-        return simpleMailMessage;
-    }
+    private static final MailTemplate REQUEST_DENIED = MailTemplate.compile("""
+            Olá {nome},
 
-    public SimpleMailMessage buildMailMessageRequestAccepted(String userEmail, String userName,
-                                                            String itemName, Timestamp date, Long itemQuantity) {
-        String formatDate = RefactorDate.refactorTimestamp(date);
+            Sua solicitação para o item '{item}' foi recusada.
 
-        String subject = "Sua solicitação foi aceita!";
-        String text = String.format("""
-                        Olá %s,
+            Detalhes:
+            - Item: {item}
+            - Quantidade: {quantidade}
+            - Hora da Recusa: {data}
 
-                        Sua solicitação do item '%s' foi aceita!
+            Por favor, entre em contato conosco para mais informações.
 
-                        Detalhes:
-                        - Item: %s
-                        - Quantidade: %d
-                        - Hora da Aceitação: %s
+            Atenciosamente,
+            Equipe do Almoxarifado""", VARIABLES);
 
-                        Obrigado por utilizar nosso sistema.""",
-                userName, itemName, itemName, itemQuantity, formatDate);
+    private static final MailTemplate REQUEST_CANCELED = MailTemplate.compile("""
+            Olá {nome},
 
-        simpleMailMessage.setTo(userEmail);
-        simpleMailMessage.setSubject(subject);
-        simpleMailMessage.setText(text);
+            Sua solicitação para o item '{item}' foi cancelada com sucesso.
 
-        return simpleMailMessage;
-    }
+            Detalhes:
+            - Item: {item}
+            - Quantidade: {quantidade}
+            - Hora do Cancelamento: {data}
 
-    public SimpleMailMessage buildMailMessageRequestDenied(String userEmail, String userName,
-                                                             String itemName, Timestamp date, Long itemQuantity) {
-        String formatDate = RefactorDate.refactorTimestamp(date);
+            Equipe do Almoxarifado.""", VARIABLES);
 
-        String subject = "Sua solicitação foi recusada.";
-        String text = String.format("""
-                        Olá %s,
+    private static final MailTemplate DIGEST = MailTemplate.compile("""
+            Olá {nome},
+
+            Houve {quantidade} atualizações nas suas solicitações:
 
-                        Sua solicitação para o item '%s' foi recusada.
+            {itens}
+            Obrigado por utilizar nosso sistema.""", List.of("nome", "quantidade", "itens"));
 
-                        Detalhes:
-                        - Item: %s
-                        - Quantidade: %d
-                        - Hora da Recusa: %s
+    private static final MailTemplate DIGEST_ENTRY = MailTemplate.compile(
+            "- {item} (quantidade: {quantidade}): {status} em {data}\n", List.of("item", "quantidade", "status", "data"));
 
-                        Por favor, entre em contato conosco para mais informações.
+    private final String sender;
 
-                        Atenciosamente,
-                        Equipe do Almoxarifado""",
-                userName, itemName, itemName, itemQuantity, formatDate);
+    public MailTemplates(@Value("${spring.mail.username}") String sender) {
+        this.sender = sender;
+    }
 
-        simpleMailMessage.setTo(userEmail);
-        simpleMailMessage.setSubject(subject);
-        simpleMailMessage.setText(text);
+    public MailMessage buildMailMessageUserCreated(String userEmail, String userName) {
+        String subject = "Sua conta foi criada com sucesso!";
 
-        return simpleMailMessage;
+        return new MailMessage(sender, userEmail, subject, USER_CREATED.render(userName, "", "", ""));
     }
 
-    public SimpleMailMessage buildMailMessageRequestCanceled(String userEmail, String userName,
-                                                           String itemName, Timestamp date, Long itemQuantity) {
-        String formatDate = RefactorDate.refactorTimestamp(date);
+    public MailMessage buildMailMessageRequestCreated(String userEmail, String userName,
+                                                      String itemName, Timestamp date, Long itemQuantity) {
+        String subject = "Sua Solicitação foi criada com sucesso!";
 
-        String subject = "Confirmação de cancelamento.";
-        String text = String.format("""
-                        Olá %s,
+        return new MailMessage(sender, userEmail, subject, REQUEST_CREATED.render(userName, itemName,
+                String.valueOf(itemQuantity), RefactorDate.refactorTimestamp(date)));
+    }
+
+    public MailMessage buildMailMessageRequestAccepted(String userEmail, String userName,
+                                                       String itemName, Timestamp date, Long itemQuantity) {
+        String subject = "Sua solicitação foi aceita!";
 
-                        Sua solicitação para o item '%s' foi cancelada com sucesso.
+        return new MailMessage(sender, userEmail, subject, REQUEST_ACCEPTED.render(userName, itemName,
+                String.valueOf(itemQuantity), RefactorDate.refactorTimestamp(date)));
+    }
+
+    public MailMessage buildMailMessageRequestDenied(String userEmail, String userName,
+                                                     String itemName, Timestamp date, Long itemQuantity) {
+        String subject = "Sua solicitação foi recusada.";
 
-                        Detalhes:
-                        - Item: %s
-                        - Quantidade: %d
-                        - Hora do Cancelamento: %s
+        return new MailMessage(sender, userEmail, subject, REQUEST_DENIED.render(userName, itemName,
+                String.valueOf(itemQuantity), RefactorDate.refactorTimestamp(date)));
+    }
+
+    public MailMessage buildMailMessageRequestCanceled(String userEmail, String userName,
+                                                       String itemName, Timestamp date, Long itemQuantity) {
+        String subject = "Confirmação de cancelamento.";
+
+        return new MailMessage(sender, userEmail, subject, REQUEST_CANCELED.render(userName, itemName,
+                String.valueOf(itemQuantity), RefactorDate.refactorTimestamp(date)));
+    }
 
-                        Equipe do Almoxarifado.""",
-                userName, itemName, itemName, itemQuantity, formatDate);
+    public MailMessage buildMailMessageDigest(String userEmail, String userName, List<MailDigestEntry> entries) {
+        String subject = "Atualizações das suas solicitações";
 
-        simpleMailMessage.setTo(userEmail);
-        simpleMailMessage.setSubject(subject);
-        simpleMailMessage.setText(text);
+        StringBuilder items = new StringBuilder();
+        for (MailDigestEntry entry : entries) {
+            items.append(DIGEST_ENTRY.render(entry.itemName(), String.valueOf(entry.quantity()),
+                    entry.status(), RefactorDate.refactorTimestamp(entry.date())));
+        }
 
-        return simpleMailMessage;
+        return new MailMessage(sender, userEmail, subject,
+                DIGEST.render(userName, String.valueOf(entries.size()), items.toString()));
     }
 }
@@ -0,0 +1,7 @@
+package com.ufrn.nei.almoxarifadoapi.infra.mail;
+
+import java.util.List;
+
+// Email pronto para envio e as linhas de email_outbox que ele representa (mais de uma no resumo)
+public record PendingMail(List<Long> ids, MailMessage message) {
+}
@@ -1,21 +1,68 @@
 package com.ufrn.nei.almoxarifadoapi.repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import com.ufrn.nei.almoxarifadoapi.dto.item.ItemResponseDTO;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.ItemCodeSummary;
 import com.ufrn.nei.almoxarifadoapi.repository.projection.ItemProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
 
 @Repository
-public interface ItemRepository extends JpaRepository<ItemEntity, Long> {
+public interface ItemRepository extends JpaRepository<ItemEntity, Long>, JpaSpecificationExecutor<ItemEntity> {
     Page<ItemProjection> findAllByAvailableTrue(Pageable pageable);
 
     Optional<ItemEntity> findBySipacCode(Long sipacCode);
 
     Optional<ItemEntity> findByName(String name);
+
+    List<ItemEntity> findAllBySipacCodeIn(Collection<Long> sipacCodes);
+
+    @Query("SELECT new com.ufrn.nei.almoxarifadoapi.repository.projection.ItemCodeSummary(i.sipacCode, i.id) " +
+            "FROM ItemEntity i WHERE i.sipacCode IS NOT NULL")
+    List<ItemCodeSummary> findAllCodes();
+
+    // Itens sem código SIPAC são identificados pelo nome normalizado (minúsculo e sem espaços nas pontas).
+    @Query("SELECT i FROM ItemEntity i WHERE i.sipacCode IS NULL AND LOWER(TRIM(i.name)) IN :names")
+    List<ItemEntity> findAllWithoutCodeByNormalizedNameIn(@Param("names") Collection<String> names);
+
+    // Não retorna linha quando o código já pertence a um item com outro nome.
+    @Query(value = "INSERT INTO itens (nome, codigo_sipac, quantidade, tipo_unitario, criado_em, atualizado_em, disponivel) " +
+            "VALUES (:name, :sipacCode, :quantity, :type, :now, :now, true) " +
+            "ON CONFLICT (codigo_sipac) DO UPDATE SET quantidade = itens.quantidade + EXCLUDED.quantidade, " +
+            "disponivel = true, atualizado_em = EXCLUDED.atualizado_em " +
+            "WHERE lower(btrim(itens.nome)) = lower(btrim(EXCLUDED.nome)) " +
+            "RETURNING *",
+            nativeQuery = true)
+    Optional<ItemEntity> upsertBySipacCode(@Param("name") String name, @Param("sipacCode") Long sipacCode,
+                                           @Param("quantity") int quantity, @Param("type") String type,
+                                           @Param("now") Timestamp now);
+
+    @Query(value = "INSERT INTO itens (nome, codigo_sipac, quantidade, tipo_unitario, criado_em, atualizado_em, disponivel) " +
+            "VALUES (:name, NULL, :quantity, :type, :now, :now, true) " +
+            "ON CONFLICT ((lower(btrim(nome)))) WHERE codigo_sipac IS NULL " +
+            "DO UPDATE SET quantidade = itens.quantidade + EXCLUDED.quantidade, " +
+            "disponivel = true, atualizado_em = EXCLUDED.atualizado_em " +
+            "RETURNING *",
+            nativeQuery = true)
+    ItemEntity upsertByName(@Param("name") String name, @Param("quantity") int quantity, @Param("type") String type,
+                            @Param("now") Timestamp now);
+
+    // Retorna 0 quando o item não existe, está indisponível ou não possui quantidade suficiente.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ItemEntity i SET i.quantity = i.quantity - :quantity, " +
+            "i.available = CASE WHEN i.quantity > :quantity THEN true ELSE false END " +
+            "WHERE i.id = :id AND i.available = true AND i.quantity >= :quantity")
+    int decreaseQuantity(@Param("id") Long id, @Param("quantity") int quantity);
 }
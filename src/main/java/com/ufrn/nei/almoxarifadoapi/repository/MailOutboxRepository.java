@@ -0,0 +1,52 @@
+package com.ufrn.nei.almoxarifadoapi.repository;
+
+import com.ufrn.nei.almoxarifadoapi.entity.MailOutboxEntity;
+import com.ufrn.nei.almoxarifadoapi.enums.MailOutboxStatusEnum;
+import com.ufrn.nei.almoxarifadoapi.enums.MailTypeEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxEntity, Long> {
+    // Reserva um lote marcando as linhas como ENVIANDO até leaseUntil. O SKIP LOCKED deixa
+    // mais de uma instância consumir a fila sem que duas peguem o mesmo email; linhas ENVIANDO
+    // com a reserva vencida voltam a ser elegíveis. Junto das linhas vencidas vêm as notificações
+    // de solicitação ainda retidas dos mesmos destinatários, que entram no mesmo resumo; elas também
+    // são limitadas a :limit e reservadas com SKIP LOCKED, então o lote tem no máximo 2 * limit linhas.
+    @Query(value = "WITH vencidos AS (SELECT id, destinatario FROM email_outbox " +
+            "WHERE status IN ('PENDENTE', 'ENVIANDO') AND proxima_tentativa <= :now " +
+            "ORDER BY proxima_tentativa LIMIT :limit FOR UPDATE SKIP LOCKED), " +
+            "retidos AS (SELECT id FROM email_outbox WHERE status = 'PENDENTE' AND tipo <> 'USUARIO_CRIADO' " +
+            "AND destinatario IN (SELECT destinatario FROM vencidos) " +
+            "ORDER BY proxima_tentativa LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "UPDATE email_outbox SET status = 'ENVIANDO', tentativas = tentativas + 1, " +
+            "proxima_tentativa = :leaseUntil " +
+            "WHERE id IN (SELECT id FROM vencidos UNION SELECT id FROM retidos) " +
+            "RETURNING *",
+            nativeQuery = true)
+    List<MailOutboxEntity> claimBatch(@Param("now") Timestamp now, @Param("leaseUntil") Timestamp leaseUntil,
+                                      @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE MailOutboxEntity m SET m.status = :status, m.sentAt = :now, m.lastError = NULL " +
+            "WHERE m.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") Timestamp now,
+                 @Param("status") MailOutboxStatusEnum status);
+
+    long countByRecipientAndStatusAndTypeNot(String recipient, MailOutboxStatusEnum status, MailTypeEnum type);
+
+    // Libera as notificações retidas pela janela de resumo; recipient nulo libera as de todos
+    @Modifying
+    @Query("UPDATE MailOutboxEntity m SET m.nextAttemptAt = :now " +
+            "WHERE (:recipient IS NULL OR m.recipient = :recipient) AND m.status = :status " +
+            "AND m.attempts = 0 AND m.nextAttemptAt > :now")
+    int releaseHeld(@Param("recipient") String recipient, @Param("now") Timestamp now,
+                    @Param("status") MailOutboxStatusEnum status);
+}
@@ -1,35 +1,62 @@
 package com.ufrn.nei.almoxarifadoapi.repository;
 
 import com.ufrn.nei.almoxarifadoapi.entity.RecordEntity;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.RecordCreatedProjection;
 import com.ufrn.nei.almoxarifadoapi.repository.projection.RecordProjection;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.RecordSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
-import javax.swing.text.html.Option;
+import java.sql.Timestamp;
 import java.util.Optional;
 
 @Repository
-public interface RecordRepository extends JpaRepository<RecordEntity, Long> {
-    @Query("SELECT r FROM RecordEntity r")
-    Page<RecordProjection> findAllPageable(Pageable pageable);
+public interface RecordRepository extends JpaRepository<RecordEntity, Long>, JpaSpecificationExecutor<RecordEntity> {
+    @Query(value = "SELECT new com.ufrn.nei.almoxarifadoapi.repository.projection.RecordSummary(" +
+            "r.id, r.quantity, r.operationEnum, r.data, i.id, i.name, i.type, i.sipacCode, " +
+            "u.id, u.name, u.email, u.active, ro.role, u.hasRecords) " +
+            "FROM RecordEntity r JOIN r.item i JOIN r.user u JOIN u.role ro",
+            countQuery = "SELECT COUNT(r) FROM RecordEntity r")
+    Page<RecordSummary> findAllPageable(Pageable pageable);
 
+    // Usuário (com a role) e item vêm na mesma consulta em vez de um SELECT por associação
+    @EntityGraph(attributePaths = {"user", "user.role", "item"}, type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT r FROM RecordEntity r WHERE (r.id = :id)")
     Optional<RecordProjection> findByIdProjection(Long id);
 
-    @Query("SELECT ue FROM RecordEntity ue WHERE " +
-            "(ue.user.id = :id) OR " +
-            "LOWER(ue.user.name) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
-            "LOWER(ue.user.email) LIKE LOWER(CONCAT('%', :email, '%')) OR " +
-            "LOWER(ue.user.role.role) LIKE LOWER(CONCAT('%', :role, '%'))")
-    Page<RecordProjection> findByUsers(Long id, String name, String email, String role, Pageable pageable);
+    @Override
+    @EntityGraph(attributePaths = {"user", "user.role", "item"}, type = EntityGraph.EntityGraphType.LOAD)
+    Page<RecordEntity> findAll(Specification<RecordEntity> specification, Pageable pageable);
 
-    @Query("SELECT ue FROM RecordEntity ue WHERE " +
-            "(ue.item.id = :id) OR " +
-            "CAST(ue.item.sipacCode AS string) LIKE CONCAT('%', CAST(:sipacCode AS string), '%') OR " +
-            "LOWER(ue.item.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    Page<RecordProjection> findByItens(Long id, Long sipacCode, String name, Pageable pageable);
+    // Baixa o estoque e grava o registro em uma única instrução. Não retorna linha quando o item
+    // não pôde ser decrementado ou o usuário não existe.
+    @Query(value = "WITH item AS (" +
+            "UPDATE itens SET quantidade = quantidade - :quantity, disponivel = quantidade > :quantity " +
+            "WHERE id = :itemId AND disponivel = true AND quantidade >= :quantity " +
+            "RETURNING id, nome, codigo_sipac" +
+            "), registro AS (" +
+            "INSERT INTO registros (id_usuario, id_item, quantidade, operacao, data) " +
+            "SELECT u.id, item.id, :quantity, :operation, :data FROM item JOIN usuarios u ON u.id = :userId " +
+            "RETURNING id, id_usuario, quantidade, operacao, data" +
+            ") " +
+            "SELECT r.id AS \"id\", r.quantidade AS \"quantity\", r.operacao AS \"operation\", r.data AS \"data\", " +
+            "i.id AS \"itemId\", i.nome AS \"itemName\", i.codigo_sipac AS \"itemSipacCode\", " +
+            "u.id AS \"userId\", u.nome AS \"userName\", u.email AS \"userEmail\", ro.encargo AS \"userRole\" " +
+            "FROM registro r CROSS JOIN item i " +
+            "JOIN usuarios u ON u.id = r.id_usuario " +
+            "JOIN roles ro ON ro.id = u.id_role",
+            nativeQuery = true)
+    Optional<RecordCreatedProjection> decreaseItemAndRecord(@Param("userId") Long userId,
+                                                            @Param("itemId") Long itemId,
+                                                            @Param("quantity") Integer quantity,
+                                                            @Param("operation") String operation,
+                                                            @Param("data") Timestamp data);
 }
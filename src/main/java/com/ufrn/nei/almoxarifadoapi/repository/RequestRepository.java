@@ -2,25 +2,36 @@ package com.ufrn.nei.almoxarifadoapi.repository;
 
 import com.ufrn.nei.almoxarifadoapi.entity.RequestEntity;
 import com.ufrn.nei.almoxarifadoapi.enums.RequestStatusEnum;
-import com.ufrn.nei.almoxarifadoapi.repository.projection.RequestProjection;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.RequestSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface RequestRepository extends JpaRepository<RequestEntity, Long> {
-    @Query("SELECT r FROM RequestEntity r")
-    Page<RequestProjection> findAllPageable(Pageable pageable);
+public interface RequestRepository extends JpaRepository<RequestEntity, Long>, JpaSpecificationExecutor<RequestEntity> {
+    // Colunas planas em um único SELECT com joins: sem proxies de projeção nem cargas lazy por linha
+    String SUMMARY = "SELECT new com.ufrn.nei.almoxarifadoapi.repository.projection.RequestSummary(" +
+            "r.id, r.status, r.description, r.quantity, r.createdAt, r.updatedAt, " +
+            "u.id, u.name, u.email, u.active, ro.role, u.hasRecords, " +
+            "i.id, i.name, i.type, i.sipacCode, i.quantity, i.available) " +
+            "FROM RequestEntity r JOIN r.user u JOIN u.role ro JOIN r.item i";
 
-    @Query("SELECT r FROM RequestEntity r WHERE (r.status = :status)")
-    Page<RequestProjection> findByStatus(RequestStatusEnum status, Pageable pageable);
+    @Query(value = SUMMARY, countQuery = "SELECT COUNT(r) FROM RequestEntity r")
+    Page<RequestSummary> findAllPageable(Pageable pageable);
 
-    @Query("SELECT r FROM RequestEntity r WHERE (r.user.id = :id)")
-    Page<RequestProjection> findByUserId(Long id, Pageable pageable);
+    @Query(value = SUMMARY + " WHERE r.status = :status",
+            countQuery = "SELECT COUNT(r) FROM RequestEntity r WHERE r.status = :status")
+    Page<RequestSummary> findByStatus(RequestStatusEnum status, Pageable pageable);
 
-    @Query("SELECT r FROM RequestEntity r WHERE (r.item.id = :id)")
-    Page<RequestProjection> findByItemId(Long id, Pageable pageable);
+    @Query(value = SUMMARY + " WHERE r.user.id = :id",
+            countQuery = "SELECT COUNT(r) FROM RequestEntity r WHERE r.user.id = :id")
+    Page<RequestSummary> findByUserId(Long id, Pageable pageable);
+
+    @Query(value = SUMMARY + " WHERE r.item.id = :id",
+            countQuery = "SELECT COUNT(r) FROM RequestEntity r WHERE r.item.id = :id")
+    Page<RequestSummary> findByItemId(Long id, Pageable pageable);
 }
@@ -2,17 +2,24 @@ package com.ufrn.nei.almoxarifadoapi.repository;
 
 import com.ufrn.nei.almoxarifadoapi.entity.RoleEntity;
 import com.ufrn.nei.almoxarifadoapi.repository.projection.RoleProjection;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
-public interface RoleRepository extends JpaRepository<RoleEntity, Long> {
+public interface RoleRepository extends JpaRepository<RoleEntity, Long>, JpaSpecificationExecutor<RoleEntity> {
     @Query("SELECT r FROM RoleEntity r")
     Page<RoleProjection> findAllPageable(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<RoleEntity> findByRole(String role);
 }
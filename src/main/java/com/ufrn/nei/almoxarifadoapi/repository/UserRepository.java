@@ -2,18 +2,35 @@ package com.ufrn.nei.almoxarifadoapi.repository;
 
 import com.ufrn.nei.almoxarifadoapi.entity.UserEntity;
 import com.ufrn.nei.almoxarifadoapi.repository.projection.UserProjection;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.UserTokenVersion;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
+public interface UserRepository extends JpaRepository<UserEntity, Long>, JpaSpecificationExecutor<UserEntity> {
+    // Usada em todo login
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<UserEntity> findByEmail(String email);
 
-    @Query("SELECT u FROM UserEntity u")
+    @Query(value = "SELECT u FROM UserEntity u JOIN FETCH u.role",
+            countQuery = "SELECT COUNT(u) FROM UserEntity u")
     Page<UserProjection> findAllPageable(Pageable pageable);
+
+    @Query("SELECT u.id FROM UserEntity u WHERE u.active = false")
+    List<Long> findIdsByActiveFalse();
+
+    @Query("SELECT new com.ufrn.nei.almoxarifadoapi.repository.projection.UserTokenVersion(u.id, u.tokenVersion) " +
+            "FROM UserEntity u WHERE u.tokenVersion > 0")
+    List<UserTokenVersion> findTokenVersions();
 }
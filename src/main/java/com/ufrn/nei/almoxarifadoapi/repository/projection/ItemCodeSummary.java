@@ -0,0 +1,5 @@
+package com.ufrn.nei.almoxarifadoapi.repository.projection;
+
+// Par código SIPAC -> id usado na carga do índice de códigos
+public record ItemCodeSummary(long sipacCode, long id) {
+}
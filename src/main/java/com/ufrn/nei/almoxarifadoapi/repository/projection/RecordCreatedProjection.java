@@ -0,0 +1,17 @@
+package com.ufrn.nei.almoxarifadoapi.repository.projection;
+
+import java.sql.Timestamp;
+
+public interface RecordCreatedProjection {
+    Long getId();
+    Integer getQuantity();
+    String getOperation();
+    Timestamp getData();
+    Long getItemId();
+    String getItemName();
+    Long getItemSipacCode();
+    Long getUserId();
+    String getUserName();
+    String getUserEmail();
+    String getUserRole();
+}
@@ -0,0 +1,22 @@
+package com.ufrn.nei.almoxarifadoapi.repository.projection;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufrn.nei.almoxarifadoapi.enums.RecordOperationEnum;
+
+import java.sql.Timestamp;
+
+// Linha da listagem de registros, preenchida pelo "SELECT new" do RecordRepository
+public record RecordSummary(Long id, Integer quantity, @JsonProperty("operation") RecordOperationEnum operationEnum,
+                            Item item, UserSummary user, String creationDate) {
+    public RecordSummary(Long id, Integer quantity, RecordOperationEnum operationEnum, Timestamp data,
+                         Long itemId, String itemName, String itemType, Long itemSipacCode,
+                         Long userId, String userName, String userEmail, Boolean userActive,
+                         String userRole, Boolean userHasRecords) {
+        this(id, quantity, operationEnum, new Item(itemId, itemName, itemType, itemSipacCode),
+                UserSummary.of(userId, userName, userEmail, userActive, userRole, userHasRecords),
+                data.toString());
+    }
+
+    public record Item(Long id, String name, String type, Long sipacCode) {
+    }
+}
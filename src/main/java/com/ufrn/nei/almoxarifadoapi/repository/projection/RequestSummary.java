@@ -0,0 +1,27 @@
+package com.ufrn.nei.almoxarifadoapi.repository.projection;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufrn.nei.almoxarifadoapi.enums.RequestStatusEnum;
+
+import java.sql.Timestamp;
+
+// Linha da listagem de solicitações. O construtor com colunas planas é o usado pelo
+// "SELECT new" do RequestRepository, que busca só essas colunas em uma única consulta.
+public record RequestSummary(Long id, RequestStatusEnum status, String description,
+                             @JsonProperty("quantityRequested") Long quantity, UserSummary user, Item item,
+                             String creationDate, String updatedDate) {
+    public RequestSummary(Long id, RequestStatusEnum status, String description, Long quantity,
+                          Timestamp createdAt, Timestamp updatedAt,
+                          Long userId, String userName, String userEmail, Boolean userActive,
+                          String userRole, Boolean userHasRecords,
+                          Long itemId, String itemName, String itemType, Long itemSipacCode,
+                          Integer itemQuantity, Boolean itemAvailable) {
+        this(id, status, description, quantity,
+                UserSummary.of(userId, userName, userEmail, userActive, userRole, userHasRecords),
+                new Item(itemId, itemName, itemType, itemSipacCode, itemQuantity, itemAvailable),
+                createdAt.toString(), updatedAt.toString());
+    }
+
+    public record Item(Long id, String name, String type, Long sipacCode, Integer quantity, Boolean available) {
+    }
+}
@@ -2,12 +2,9 @@ package com.ufrn.nei.almoxarifadoapi.repository.projection;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.ufrn.nei.almoxarifadoapi.entity.RecordEntity;
 import com.ufrn.nei.almoxarifadoapi.entity.RoleEntity;
 import com.ufrn.nei.almoxarifadoapi.utils.RemoveRolePrefix;
 
-import java.util.List;
-
 public interface UserProjection {
     Long getId();
     String getName();
@@ -16,7 +13,7 @@ public interface UserProjection {
     @JsonIgnore
     RoleEntity getRole();
     @JsonIgnore
-    List<RecordEntity> getRecords();
+    Boolean getHasRecords();
 
     @JsonProperty("role")
     default String removeRolePrefix() {
@@ -25,10 +22,6 @@ public interface UserProjection {
 
     @JsonProperty("existRecord")
     default Boolean existRecord() {
-        if (getRecords().isEmpty()) {
-            return Boolean.FALSE;
-        } else {
-            return Boolean.TRUE;
-        }
+        return Boolean.TRUE.equals(getHasRecords());
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.ufrn.nei.almoxarifadoapi.repository.projection;
+
+import com.ufrn.nei.almoxarifadoapi.utils.RemoveRolePrefix;
+
+// Dados do usuário nas listagens de solicitações e registros, no mesmo formato do UserProjection
+public record UserSummary(Long id, String name, String email, Boolean active, String role, Boolean existRecord) {
+    public static UserSummary of(Long id, String name, String email, Boolean active, String role, Boolean hasRecords) {
+        return new UserSummary(id, name, email, active, RemoveRolePrefix.getRoleWithoutPrefix(role),
+                Boolean.TRUE.equals(hasRecords));
+    }
+}
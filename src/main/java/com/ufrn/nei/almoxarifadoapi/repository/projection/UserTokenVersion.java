@@ -0,0 +1,5 @@
+package com.ufrn.nei.almoxarifadoapi.repository.projection;
+
+// Versão dos tokens de um usuário, lida pelo JwtUserVersionRegistry na inicialização e a cada releitura
+public record UserTokenVersion(Long id, Integer version) {
+}
@@ -0,0 +1,38 @@
+package com.ufrn.nei.almoxarifadoapi.repository.specification;
+
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.FetchParent;
+import org.springframework.data.jpa.domain.Specification;
+
+// Traz as associações na mesma consulta da entidade (JOIN FETCH), para as consultas montadas por
+// Specification que não aceitam @EntityGraph, como o scroll por cursor. Caminhos aninhados usam ponto
+// ("user.role"). Consultas de contagem não podem ter fetch, então nelas nada é feito.
+public class FetchSpecifications {
+    public static <T> Specification<T> fetch(String... paths) {
+        return (root, query, builder) -> {
+            if (Long.class.equals(query.getResultType()) || long.class.equals(query.getResultType())) {
+                return null;
+            }
+
+            for (String path : paths) {
+                FetchParent<?, ?> parent = root;
+                for (String attribute : path.split("\\.")) {
+                    parent = fetch(parent, attribute);
+                }
+            }
+
+            return null;
+        };
+    }
+
+    // Reaproveita o fetch já feito para o atributo ("user" em "user" e "user.role")
+    private static FetchParent<?, ?> fetch(FetchParent<?, ?> parent, String attribute) {
+        for (Fetch<?, ?> fetch : parent.getFetches()) {
+            if (fetch.getAttribute().getName().equals(attribute)) {
+                return fetch;
+            }
+        }
+
+        return parent.fetch(attribute);
+    }
+}
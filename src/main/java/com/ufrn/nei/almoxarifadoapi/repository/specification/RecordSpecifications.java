@@ -0,0 +1,76 @@
+package com.ufrn.nei.almoxarifadoapi.repository.specification;
+
+import com.ufrn.nei.almoxarifadoapi.entity.RecordEntity;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+// Filtros opcionais da busca de registros. Cada método retorna null quando o valor não foi informado,
+// e o Specification.where/and ignora filtros nulos.
+public class RecordSpecifications {
+    private static final char ESCAPE = '\\';
+
+    public static Specification<RecordEntity> userId(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        return (root, query, builder) -> builder.equal(root.get("user").get("id"), id);
+    }
+
+    public static Specification<RecordEntity> userNameContains(String name) {
+        return contains(name, "user", "name");
+    }
+
+    public static Specification<RecordEntity> userEmailContains(String email) {
+        return contains(email, "user", "email");
+    }
+
+    public static Specification<RecordEntity> userRoleContains(String role) {
+        return contains(role, "user", "role", "role");
+    }
+
+    public static Specification<RecordEntity> itemId(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        return (root, query, builder) -> builder.equal(root.get("item").get("id"), id);
+    }
+
+    // Por padrão busca pelo início do código (usa o índice text_pattern_ops); com contains, por qualquer trecho (trigram).
+    public static Specification<RecordEntity> itemSipacCodeMatches(Long sipacCode, boolean contains) {
+        if (sipacCode == null) {
+            return null;
+        }
+
+        String pattern = (contains ? "%" : "") + sipacCode + "%";
+
+        return (root, query, builder) -> builder.like(root.get("item").get("sipacCodeText"), pattern);
+    }
+
+    public static Specification<RecordEntity> itemNameContains(String name) {
+        return contains(name, "item", "name");
+    }
+
+    private static Specification<RecordEntity> contains(String value, String... attributes) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        String pattern = "%" + escapeLike(value.trim().toLowerCase()) + "%";
+
+        return (root, query, builder) -> {
+            Path<?> path = root;
+            for (int i = 0; i < attributes.length - 1; i++) {
+                path = path.get(attributes[i]);
+            }
+            Path<String> attribute = path.get(attributes[attributes.length - 1]);
+
+            return builder.like(builder.lower(attribute), pattern, ESCAPE);
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
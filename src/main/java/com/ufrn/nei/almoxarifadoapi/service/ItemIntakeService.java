@@ -0,0 +1,267 @@
+package com.ufrn.nei.almoxarifadoapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufrn.nei.almoxarifadoapi.dto.item.ItemBatchLineErrorDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.item.ItemBatchResultDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.item.ItemCreateDTO;
+import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.RecordEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.UserEntity;
+import com.ufrn.nei.almoxarifadoapi.enums.RecordOperationEnum;
+import com.ufrn.nei.almoxarifadoapi.exception.OperationErrorException;
+import com.ufrn.nei.almoxarifadoapi.infra.cache.ItemCatalogCache;
+import com.ufrn.nei.almoxarifadoapi.infra.cache.SecondLevelCache;
+import com.ufrn.nei.almoxarifadoapi.infra.cache.SipacCodeIndex;
+import com.ufrn.nei.almoxarifadoapi.repository.ItemRepository;
+import com.ufrn.nei.almoxarifadoapi.repository.RecordRepository;
+import com.ufrn.nei.almoxarifadoapi.utils.CsvLine;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Service
+public class ItemIntakeService {
+    // Quantidade máxima de erros detalhados na resposta; os demais só entram na contagem.
+    public static final int MAX_ERRORS = 1000;
+    // Linhas gravadas por transação. Múltiplo do hibernate.jdbc.batch_size.
+    public static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private RecordRepository recordRepository;
+
+    @Autowired
+    private ItemCatalogCache itemCatalogCache;
+
+    @Autowired
+    private SipacCodeIndex sipacCodeIndex;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Colunas do CSV: nome, código SIPAC (opcional), quantidade, tipo unitário.
+    public ItemCreateDTO parseCsvLine(String line, char separator) {
+        List<String> columns = CsvLine.split(line, separator);
+
+        if (columns.size() < 4) {
+            throw new OperationErrorException("Linha deve conter nome, código SIPAC, quantidade e tipo unitário.");
+        }
+
+        try {
+            String sipacCode = columns.get(1);
+
+            return validate(new ItemCreateDTO(columns.get(0), Integer.parseInt(columns.get(2)),
+                    columns.get(3), sipacCode.isEmpty() ? null : Long.valueOf(sipacCode)));
+        } catch (NumberFormatException ex) {
+            throw new OperationErrorException("Quantidade ou código SIPAC não numérico.");
+        }
+    }
+
+    public ItemCreateDTO parseJsonLine(String line) {
+        try {
+            return validate(objectMapper.readValue(line, ItemCreateDTO.class));
+        } catch (JsonProcessingException ex) {
+            throw new OperationErrorException("JSON inválido.");
+        }
+    }
+
+    // Cada lote roda em sua própria transação: uma falha no banco descarta apenas as linhas do lote.
+    @Transactional
+    public ItemBatchResultDTO registerChunk(Map<Long, ItemCreateDTO> lines, Long userId) {
+        ItemBatchResultDTO result = new ItemBatchResultDTO();
+
+        Set<Long> codes = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        lines.values().forEach(line -> {
+            if (line.getSipacCode() != null) {
+                codes.add(line.getSipacCode());
+            } else {
+                names.add(normalize(line.getName()));
+            }
+        });
+
+        Map<Long, ItemEntity> itemsByCode = new HashMap<>();
+        Map<String, ItemEntity> itemsByName = new HashMap<>();
+        if (!codes.isEmpty()) {
+            itemRepository.findAllBySipacCodeIn(codes).forEach(item -> itemsByCode.put(item.getSipacCode(), item));
+        }
+        if (!names.isEmpty()) {
+            itemRepository.findAllWithoutCodeByNormalizedNameIn(names)
+                    .forEach(item -> itemsByName.put(normalize(item.getName()), item));
+        }
+
+        UserEntity user = userService.getReference(userId);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<ItemEntity> newItems = new ArrayList<>();
+        Map<Long, RecordEntity> records = new LinkedHashMap<>();
+        // Em ordem de id, para lotes concorrentes travarem as linhas na mesma ordem
+        Map<Long, Integer> increments = new TreeMap<>();
+
+        lines.forEach((number, line) -> {
+            ItemEntity item = line.getSipacCode() != null
+                    ? itemsByCode.get(line.getSipacCode())
+                    : itemsByName.get(normalize(line.getName()));
+
+            if (item == null) {
+                item = new ItemEntity();
+                item.setName(line.getName());
+                item.setSipacCode(line.getSipacCode());
+                item.setType(line.getType());
+                item.setQuantity(line.getQuantity());
+
+                if (line.getSipacCode() != null) {
+                    itemsByCode.put(line.getSipacCode(), item);
+                } else {
+                    itemsByName.put(normalize(line.getName()), item);
+                }
+
+                newItems.add(item);
+            } else if (!normalize(line.getName()).equals(normalize(item.getName()))) {
+                addError(result, number, "Encontrado outro item com nome diferente e mesmo código SIPAC.");
+
+                return;
+            } else if (item.getId() == null) {
+                // Criado por uma linha anterior deste lote, ainda não gravado
+                item.setQuantity(item.getQuantity() + line.getQuantity());
+            } else {
+                increments.merge(item.getId(), line.getQuantity(), Integer::sum);
+            }
+
+            records.put(number, new RecordEntity(user, item, line.getQuantity(), RecordOperationEnum.CADASTRO));
+        });
+
+        Map<ItemEntity, ItemEntity> saved = upsertItems(newItems, now);
+        increaseQuantities(increments, now);
+
+        // Troca os itens novos pelas linhas gravadas. A primeira linha de cada item novo conta como
+        // cadastro; as demais, e as de itens existentes, como atualização.
+        Set<ItemEntity> created = Collections.newSetFromMap(new IdentityHashMap<>());
+        Iterator<Map.Entry<Long, RecordEntity>> iterator = records.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, RecordEntity> entry = iterator.next();
+            RecordEntity record = entry.getValue();
+
+            if (!saved.containsKey(record.getItem())) {
+                result.setUpdated(result.getUpdated() + 1);
+                continue;
+            }
+
+            ItemEntity item = saved.get(record.getItem());
+            if (item == null) {
+                addError(result, entry.getKey(), "Encontrado outro item com nome diferente e mesmo código SIPAC.");
+                iterator.remove();
+                continue;
+            }
+
+            if (created.add(record.getItem())) {
+                result.setCreated(result.getCreated() + 1);
+            } else {
+                result.setUpdated(result.getUpdated() + 1);
+            }
+            record.setItem(item);
+        }
+
+        recordRepository.saveAll(records.values());
+
+        saved.values().stream().filter(Objects::nonNull).forEach(item -> {
+            itemCatalogCache.putAfterCommit(item);
+            sipacCodeIndex.putAfterCommit(item);
+        });
+        increments.keySet().forEach(itemCatalogCache::evictAfterCommit);
+        secondLevelCache.evictAfterCommit(UserEntity.class, userId);
+
+        return result;
+    }
+
+    // Mesmo upsert do cadastro unitário: um item cadastrado ao mesmo tempo por outra transação recebe a
+    // quantidade em vez de derrubar o lote. O valor é null quando o código pertence a um item com outro
+    // nome. Gravados em ordem de chave, para lotes concorrentes travarem as linhas na mesma ordem.
+    private Map<ItemEntity, ItemEntity> upsertItems(List<ItemEntity> items, Timestamp now) {
+        items.sort(Comparator.comparing(ItemEntity::getSipacCode, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(item -> normalize(item.getName())));
+
+        Map<ItemEntity, ItemEntity> saved = new IdentityHashMap<>();
+        for (ItemEntity item : items) {
+            saved.put(item, item.getSipacCode() != null
+                    ? itemRepository.upsertBySipacCode(item.getName(), item.getSipacCode(), item.getQuantity(),
+                            item.getType(), now).orElse(null)
+                    : itemRepository.upsertByName(item.getName(), item.getQuantity(), item.getType(), now));
+        }
+
+        return saved;
+    }
+
+    // Soma no próprio UPDATE, e não na entidade lida no início do lote, para não sobrescrever baixas
+    // feitas por outras transações nesse intervalo. Um único lote JDBC para todos os itens existentes.
+    private void increaseQuantities(Map<Long, Integer> increments, Timestamp now) {
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> arguments = new ArrayList<>(increments.size());
+        increments.forEach((id, quantity) -> arguments.add(new Object[]{quantity, now, id}));
+
+        jdbcTemplate.batchUpdate(
+                "UPDATE itens SET quantidade = quantidade + ?, disponivel = true, atualizado_em = ? WHERE id = ?",
+                arguments);
+    }
+
+    public void addError(ItemBatchResultDTO result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+
+        if (result.getErrors().size() < MAX_ERRORS) {
+            result.getErrors().add(new ItemBatchLineErrorDTO(line, message));
+        }
+    }
+
+    private ItemCreateDTO validate(ItemCreateDTO item) {
+        Set<ConstraintViolation<ItemCreateDTO>> violations = validator.validate(item);
+
+        if (!violations.isEmpty()) {
+            ConstraintViolation<ItemCreateDTO> violation = violations.iterator().next();
+
+            throw new OperationErrorException(
+                    String.format("Campo '%s' inválido: %s", violation.getPropertyPath(), violation.getMessage()));
+        }
+
+        return item;
+    }
+
+    private String normalize(String name) {
+        return name.trim().toLowerCase();
+    }
+}
@@ -2,25 +2,43 @@ package com.ufrn.nei.almoxarifadoapi.service;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
-
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.ufrn.nei.almoxarifadoapi.dto.item.ItemCodeLookupResultDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.item.ItemResponseDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.mapper.ItemMapper;
+import com.ufrn.nei.almoxarifadoapi.exception.DuplicateItemException;
 import com.ufrn.nei.almoxarifadoapi.exception.EntityNotFoundException;
 import com.ufrn.nei.almoxarifadoapi.exception.ItemNotActiveException;
 import com.ufrn.nei.almoxarifadoapi.exception.NotAvailableQuantityException;
 import com.ufrn.nei.almoxarifadoapi.exception.OperationErrorException;
+import com.ufrn.nei.almoxarifadoapi.infra.cache.ItemCatalogCache;
+import com.ufrn.nei.almoxarifadoapi.infra.cache.SipacCodeIndex;
+import com.ufrn.nei.almoxarifadoapi.infra.datasource.WorkloadContext;
 
 import com.ufrn.nei.almoxarifadoapi.repository.projection.ItemProjection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 
 import com.ufrn.nei.almoxarifadoapi.dto.item.ItemCreateDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.item.ItemUpdateDTO;
-import com.ufrn.nei.almoxarifadoapi.dto.mapper.ItemMapper;
 import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
-import com.ufrn.nei.almoxarifadoapi.enums.ItemQuantityOperation;
 import com.ufrn.nei.almoxarifadoapi.repository.ItemRepository;
+import com.ufrn.nei.almoxarifadoapi.utils.CursorCodec;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -28,100 +46,163 @@ public class ItemService {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private ProjectionFactory projectionFactory;
+
+    @Autowired
+    private ItemCatalogCache itemCatalogCache;
+
+    @Autowired
+    private SipacCodeIndex sipacCodeIndex;
+
     @Transactional(readOnly = true)
     public Page<ItemProjection> findAllItems(Pageable pageable) {
         return itemRepository.findAllByAvailableTrue(pageable);
     }
 
     @Transactional(readOnly = true)
+    public Window<ItemProjection> findAllItems(ScrollPosition position, Pageable pageable) {
+        return itemRepository.findBy((root, query, builder) -> builder.isTrue(root.<Boolean>get("available")), query -> query
+                        .sortBy(CursorCodec.seekSort(pageable.getSort()))
+                        .limit(pageable.getPageSize())
+                        .scroll(position))
+                .map(entity -> projectionFactory.createProjection(ItemProjection.class, entity));
+    }
+
+    // As buscas por id, nome e código consultam o cache antes do banco. Sem @Transactional
+    // para que um acerto no cache não precise de conexão.
     public ItemEntity findById(Long id) {
-        ItemEntity item = itemRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException(String.format("Item não encontrado com id=%s", id)));
+        return itemCatalogCache.getById(id)
+                .or(() -> loadAndCache(() -> itemRepository.findById(id)))
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Item não encontrado com id=%s", id)));
+    }
 
-        return item;
+    public ItemEntity getReference(Long id) {
+        return itemRepository.getReferenceById(id);
     }
 
-    @Transactional(readOnly = true)
     public ItemEntity findByName(String name) {
-        ItemEntity item = itemRepository.findByName(name).orElseThrow(
-                () -> new EntityNotFoundException(String.format("Item não encontrado com nome=%s", name)));
-
-        return item;
+        return itemCatalogCache.getByName(name)
+                .or(() -> loadAndCache(() -> itemRepository.findByName(name)))
+                .orElseThrow(() -> new EntityNotFoundException(
+                        String.format("Item não encontrado com nome=%s", name)));
     }
 
-    @Transactional(readOnly = true)
     public ItemEntity findByCode(Long sipacCode) {
-        ItemEntity item = itemRepository.findBySipacCode(sipacCode).orElseThrow(
-                () -> new EntityNotFoundException(String.format("Item não encontrado com código=%s", sipacCode)));
+        return itemCatalogCache.getByCode(sipacCode)
+                .or(() -> loadAndCache(() -> itemRepository.findBySipacCode(sipacCode)))
+                .orElseThrow(() -> new EntityNotFoundException(
+                        String.format("Item não encontrado com código=%s", sipacCode)));
+    }
+
+    // O que vai para o cache é lido do primário (a réplica pode estar atrasada) e só é guardado se
+    // nenhuma escrita invalidou o item durante a leitura.
+    private Optional<ItemEntity> loadAndCache(Supplier<Optional<ItemEntity>> read) {
+        long stamp = itemCatalogCache.readStamp();
+        Optional<ItemEntity> item = WorkloadContext.primary(read);
 
+        item.ifPresent(found -> itemCatalogCache.put(found, stamp));
         return item;
     }
 
-    @Transactional
-    public ItemEntity createItem(ItemCreateDTO data) {
-        if (data == null) {
-            throw new OperationErrorException("Dados para criação de item não podem ser nulos!");
+    // Resolve os códigos lidos pelo leitor de uma vez: o índice dá os ids, o cache dá os itens e só
+    // os que faltam vão ao banco, em uma consulta por id e outra por código.
+    public ItemCodeLookupResultDTO findAllByCodes(long[] sipacCodes) {
+        long[] ids = sipacCodeIndex.getIds(sipacCodes);
+
+        Map<Long, ItemEntity> itemsById = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        for (long id : ids) {
+            if (id != SipacCodeIndex.NOT_FOUND && !itemsById.containsKey(id)) {
+                itemCatalogCache.getById(id).ifPresentOrElse(item -> itemsById.put(id, item), () -> uncached.add(id));
+            }
+        }
+        if (!uncached.isEmpty()) {
+            long stamp = itemCatalogCache.readStamp();
+            WorkloadContext.primary(() -> itemRepository.findAllById(uncached)).forEach(item -> {
+                itemsById.put(item.getId(), item);
+                itemCatalogCache.put(item, stamp);
+            });
         }
 
-        // Para ter um valor padrão.
-        ItemEntity item = ItemMapper.toItem(data);
+        // Códigos fora do índice ou que apontam para um item que mudou de código
+        Map<Long, ItemEntity> itemsByCode = new LinkedHashMap<>();
+        Set<Long> unresolved = new LinkedHashSet<>();
+        for (int i = 0; i < sipacCodes.length; i++) {
+            ItemEntity item = ids[i] == SipacCodeIndex.NOT_FOUND ? null : itemsById.get(ids[i]);
 
-        // Busca por um item previamente cadastrado para, ao invés de cadastrar
-        // novamente, atualizar quantidade.
-        try {
-            if (data.getSipacCode() != null) {
-                item = findByCode(data.getSipacCode());
-
-                if (data.getName().equalsIgnoreCase(item.getName())) {
-                    setItemQuantity(item, data.getQuantity(), ItemQuantityOperation.SUM);
-                } else {
-                    throw new OperationErrorException("Encontrado outro item com nome diferente e mesmo código SIPAC.");
-                }
+            if (item != null && item.getSipacCode() != null && item.getSipacCode() == sipacCodes[i]) {
+                itemsByCode.putIfAbsent(sipacCodes[i], item);
             } else {
-                item = findByName(data.getName());
-                setItemQuantity(item, data.getQuantity(), ItemQuantityOperation.SUM);
+                unresolved.add(sipacCodes[i]);
             }
-
-            item.setUpdatedAt(Timestamp.valueOf(LocalDateTime.now()));
-        } catch (EntityNotFoundException ex) {
+        }
+        if (!unresolved.isEmpty()) {
+            long stamp = itemCatalogCache.readStamp();
+            WorkloadContext.primary(() -> itemRepository.findAllBySipacCodeIn(unresolved)).forEach(item -> {
+                itemsByCode.put(item.getSipacCode(), item);
+                sipacCodeIndex.put(item.getSipacCode(), item.getId());
+                itemCatalogCache.put(item, stamp);
+            });
         }
 
-        item.setAvailable(true);
-        itemRepository.save(item);
+        ItemCodeLookupResultDTO result = new ItemCodeLookupResultDTO();
+        Set<Long> seen = new LinkedHashSet<>();
+        for (long code : sipacCodes) {
+            if (!seen.add(code)) {
+                continue;
+            }
 
-        return item;
+            ItemEntity item = itemsByCode.get(code);
+            if (item != null) {
+                result.getItems().add(ItemMapper.toResponseDTO(item));
+            } else {
+                result.getNotFound().add(code);
+            }
+        }
+
+        return result;
     }
 
-    private void setItemQuantity(ItemEntity item, int quantity, ItemQuantityOperation operation) {
-        if (quantity <= 0 || item == null) {
+    @Transactional
+    public ItemEntity createItem(ItemCreateDTO data) {
+        if (data == null) {
+            throw new OperationErrorException("Dados para criação de item não podem ser nulos!");
+        }
+
+        if (data.getQuantity() <= 0) {
             throw new OperationErrorException();
         }
 
-        switch (operation) {
-            case SUM:
-                item.setQuantity(quantity + item.getQuantity());
-                item.setAvailable(true);
-                break;
-            case SUBTRACT:
-                if (quantity > item.getQuantity()) {
-                    throw new OperationErrorException("Não há itens disponiveis suficientes para realizar a exclusão.");
-                } else {
-                    item.setQuantity(item.getQuantity() - quantity);
-                }
-
-                if (item.getQuantity() == 0) {
-                    item.setAvailable(false);
-                }
-
-                break;
-            default:
-                throw new OperationErrorException("Não foi definida uma operação.");
+        // Cadastra o item ou soma a quantidade ao já existente em uma única instrução.
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        ItemEntity item;
+        if (data.getSipacCode() != null) {
+            item = itemRepository.upsertBySipacCode(data.getName(), data.getSipacCode(), data.getQuantity(),
+                            data.getType(), now)
+                    .orElseThrow(() -> new DuplicateItemException(
+                            "Encontrado outro item com nome diferente e mesmo código SIPAC."));
+        } else {
+            item = itemRepository.upsertByName(data.getName(), data.getQuantity(), data.getType(), now);
         }
+
+        itemCatalogCache.putAfterCommit(item);
+        sipacCodeIndex.putAfterCommit(item);
+        return item;
     }
 
     @Transactional
     public ItemEntity updateItem(Long id, ItemUpdateDTO data) {
-        ItemEntity item = findById(id);
+        ItemEntity item = itemRepository.findById(id).orElseThrow(
+                () -> new EntityNotFoundException(String.format("Item não encontrado com id=%s", id)));
+        Long previousCode = item.getSipacCode();
+
+        // Verificado antes de alterar a entidade, para a consulta não enviar as alterações ao banco
+        if (data.getSipacCode() != null && !data.getSipacCode().equals(previousCode)
+                && itemRepository.findBySipacCode(data.getSipacCode()).isPresent()) {
+            throw new DuplicateItemException();
+        }
 
         if (data.getName() != null && !data.getName().isBlank()) {
             item.setName(data.getName());
@@ -131,24 +212,41 @@ public class ItemService {
         }
         item.setUpdatedAt(Timestamp.valueOf(LocalDateTime.now()));
 
-        itemRepository.save(item);
+        // Outra atualização pode ter ocupado o código (ou o nome, em itens sem código) depois da verificação
+        try {
+            itemRepository.saveAndFlush(item);
+        } catch (DataIntegrityViolationException exception) {
+            throw new DuplicateItemException("Encontrado outro item com o mesmo código SIPAC ou nome.");
+        }
+        itemCatalogCache.putAfterCommit(item);
+        sipacCodeIndex.replaceAfterCommit(previousCode, item);
         return item;
     }
 
     @Transactional
     public void deleteOrConsumeItem(Long id, int quantity) {
-        ItemEntity item = findById(id);
-
-        if (item.getAvailable().equals(false)) {
-            throw new ItemNotActiveException();
+        if (quantity <= 0) {
+            throw new OperationErrorException();
         }
 
-        if (quantity > item.getQuantity()) {
-            throw new NotAvailableQuantityException("Quantidade de itens disponiveis insuficientes.");
+        if (itemRepository.decreaseQuantity(id, quantity) == 0) {
+            throwDecreaseError(id);
         }
 
-        setItemQuantity(item, quantity, ItemQuantityOperation.SUBTRACT);
+        itemCatalogCache.evictAfterCommit(id);
+    }
+
+    // Só é chamado quando a atualização não alterou nenhuma linha, para identificar o motivo.
+    @Transactional(readOnly = true)
+    public void throwDecreaseError(Long id) {
+        // Direto do banco: o cache pode não refletir a baixa que acabou de falhar
+        ItemEntity item = itemRepository.findById(id).orElseThrow(
+                () -> new EntityNotFoundException(String.format("Item não encontrado com id=%s", id)));
+
+        if (item.getAvailable().equals(false)) {
+            throw new ItemNotActiveException();
+        }
 
-        itemRepository.save(item);
+        throw new NotAvailableQuantityException("Quantidade de itens disponiveis insuficientes.");
     }
 }
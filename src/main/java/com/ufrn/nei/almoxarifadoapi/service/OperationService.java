@@ -1,14 +1,33 @@
 package com.ufrn.nei.almoxarifadoapi.service;
 
+import com.ufrn.nei.almoxarifadoapi.dto.item.ItemBatchResultDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.item.ItemCreateDTO;
 import com.ufrn.nei.almoxarifadoapi.dto.record.RecordCreateDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.record.RecordResponseDTO;
 import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
 import com.ufrn.nei.almoxarifadoapi.entity.RecordEntity;
 import com.ufrn.nei.almoxarifadoapi.enums.RecordOperationEnum;
+import com.ufrn.nei.almoxarifadoapi.exception.OperationErrorException;
 import com.ufrn.nei.almoxarifadoapi.infra.jwt.JwtAuthenticationContext;
+import com.ufrn.nei.almoxarifadoapi.utils.CsvLine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Slf4j
 @Service
 public class OperationService {
     @Autowired
@@ -17,28 +36,131 @@ public class OperationService {
     @Autowired
     private RecordService recordService;
 
-    public RecordEntity toConsume(RecordCreateDTO createDTO) {
-        itemService.deleteOrConsumeItem(createDTO.getItemID(), createDTO.getQuantity());
+    @Autowired
+    private ItemIntakeService itemIntakeService;
 
-        RecordEntity record = recordService.save(createDTO, RecordOperationEnum.CONSUMO);
+    @Autowired
+    private MeterRegistry meterRegistry;
 
-        return record;
+    public RecordResponseDTO toConsume(RecordCreateDTO createDTO) {
+        return measure(RecordOperationEnum.CONSUMO, createDTO.getQuantity(),
+                () -> recordService.decreaseItemAndSave(createDTO, RecordOperationEnum.CONSUMO));
     }
 
+    @Transactional
     public RecordEntity toRegister(ItemCreateDTO createDTO) {
-        ItemEntity item = itemService.createItem(createDTO);
-        RecordCreateDTO recordCreateDTO =
-                new RecordCreateDTO(JwtAuthenticationContext.getId(), item.getId(), createDTO.getQuantity());
-        RecordEntity record = recordService.save(recordCreateDTO, RecordOperationEnum.CADASTRO);
+        return measure(RecordOperationEnum.CADASTRO, createDTO.getQuantity(), () -> {
+            ItemEntity item = itemService.createItem(createDTO);
+            RecordCreateDTO recordCreateDTO =
+                    new RecordCreateDTO(JwtAuthenticationContext.getId(), item.getId(), createDTO.getQuantity());
 
-        return record;
+            return recordService.save(recordCreateDTO, RecordOperationEnum.CADASTRO);
+        });
     }
 
-    public RecordEntity toDelete(RecordCreateDTO createDTO) {
-        itemService.deleteOrConsumeItem(createDTO.getItemID(), createDTO.getQuantity());
+    public RecordResponseDTO toDelete(RecordCreateDTO createDTO) {
+        return measure(RecordOperationEnum.EXCLUSAO, createDTO.getQuantity(),
+                () -> recordService.decreaseItemAndSave(createDTO, RecordOperationEnum.EXCLUSAO));
+    }
+
+    // Lê o corpo linha a linha e grava em lotes, então o consumo de memória não depende do tamanho do arquivo.
+    public ItemBatchResultDTO toRegisterBatch(InputStream body, String contentType) throws IOException {
+        boolean json = contentType != null && contentType.startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        Long userId = JwtAuthenticationContext.getId();
+        ItemBatchResultDTO result = new ItemBatchResultDTO();
+        Map<Long, ItemCreateDTO> chunk = new LinkedHashMap<>();
+        Character separator = null;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            long number = 0;
+
+            while ((line = reader.readLine()) != null) {
+                number++;
+
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                if (!json && separator == null) {
+                    separator = CsvLine.detectSeparator(line);
+
+                    // Cabeçalho opcional.
+                    if (line.trim().toLowerCase().startsWith("nome")) {
+                        continue;
+                    }
+                }
+
+                result.setLines(result.getLines() + 1);
+
+                try {
+                    chunk.put(number, json
+                            ? itemIntakeService.parseJsonLine(line)
+                            : itemIntakeService.parseCsvLine(line, separator));
+                } catch (OperationErrorException ex) {
+                    itemIntakeService.addError(result, number, ex.getMessage());
+                }
+
+                if (chunk.size() == ItemIntakeService.CHUNK_SIZE) {
+                    registerChunk(chunk, userId, result);
+                }
+            }
+
+            registerChunk(chunk, userId, result);
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("almoxarifado.operations",
+                    "operation", RecordOperationEnum.CADASTRO.name(), "mode", "batch", "outcome", outcome));
+        }
+
+        meterRegistry.counter("almoxarifado.operations.batch.lines", "result", "created").increment(result.getCreated());
+        meterRegistry.counter("almoxarifado.operations.batch.lines", "result", "updated").increment(result.getUpdated());
+        meterRegistry.counter("almoxarifado.operations.batch.lines", "result", "failed").increment(result.getFailed());
+
+        return result;
+    }
+
+    // Tempo de cada operação e quantidade de unidades movimentadas, por tipo de operação e resultado
+    private <T> T measure(RecordOperationEnum operation, Integer quantity, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+
+        try {
+            T result = action.get();
+            if (result != null) {
+                outcome = "success";
+                meterRegistry.counter("almoxarifado.operations.quantity", "operation", operation.name())
+                        .increment(quantity == null ? 0 : quantity);
+            }
+
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer("almoxarifado.operations",
+                    "operation", operation.name(), "mode", "single", "outcome", outcome));
+        }
+    }
+
+    private void registerChunk(Map<Long, ItemCreateDTO> chunk, Long userId, ItemBatchResultDTO result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            ItemBatchResultDTO partial = itemIntakeService.registerChunk(chunk, userId);
 
-        RecordEntity record = recordService.save(createDTO, RecordOperationEnum.EXCLUSAO);
+            result.setCreated(result.getCreated() + partial.getCreated());
+            result.setUpdated(result.getUpdated() + partial.getUpdated());
+            partial.getErrors().forEach(error ->
+                    itemIntakeService.addError(result, error.getLine(), error.getMessage()));
+        } catch (RuntimeException ex) {
+            // A mensagem da exceção pode trazer SQL e nomes de constraints; fica só no log.
+            log.error("Erro ao gravar lote de {} linha(s) do cadastro em lote", chunk.size(), ex);
+            chunk.keySet().forEach(number ->
+                    itemIntakeService.addError(result, number, "Erro ao gravar o lote. Nenhuma linha do lote foi registrada."));
+        }
 
-        return record;
+        chunk.clear();
     }
 }
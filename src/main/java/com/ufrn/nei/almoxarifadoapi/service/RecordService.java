@@ -1,19 +1,37 @@
 package com.ufrn.nei.almoxarifadoapi.service;
 
+import com.ufrn.nei.almoxarifadoapi.dto.mapper.RecordMapper;
 import com.ufrn.nei.almoxarifadoapi.dto.record.RecordCreateDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.record.RecordResponseDTO;
 import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
 import com.ufrn.nei.almoxarifadoapi.entity.RecordEntity;
 import com.ufrn.nei.almoxarifadoapi.entity.UserEntity;
 import com.ufrn.nei.almoxarifadoapi.enums.RecordOperationEnum;
 import com.ufrn.nei.almoxarifadoapi.exception.EntityNotFoundException;
+import com.ufrn.nei.almoxarifadoapi.exception.OperationErrorException;
+import com.ufrn.nei.almoxarifadoapi.infra.cache.ItemCatalogCache;
+import com.ufrn.nei.almoxarifadoapi.infra.cache.SecondLevelCache;
+import com.ufrn.nei.almoxarifadoapi.infra.datasource.ReportingWorkload;
 import com.ufrn.nei.almoxarifadoapi.repository.RecordRepository;
 import com.ufrn.nei.almoxarifadoapi.repository.projection.RecordProjection;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.RecordSummary;
+import com.ufrn.nei.almoxarifadoapi.repository.specification.FetchSpecifications;
+import com.ufrn.nei.almoxarifadoapi.repository.specification.RecordSpecifications;
+import com.ufrn.nei.almoxarifadoapi.utils.CursorCodec;
+import com.ufrn.nei.almoxarifadoapi.utils.MappedList;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class RecordService {
     @Autowired
@@ -25,20 +43,68 @@ public class RecordService {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ItemCatalogCache itemCatalogCache;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private ProjectionFactory projectionFactory;
+
     @Transactional
     public RecordEntity save(RecordCreateDTO recordCreateDTO, RecordOperationEnum operationEnum) {
-        UserEntity user = userService.findById(recordCreateDTO.getUserID());
-        ItemEntity item = itemService.findById(recordCreateDTO.getItemID());
+        UserEntity user = userService.getReference(recordCreateDTO.getUserID());
+        ItemEntity item = itemService.getReference(recordCreateDTO.getItemID());
         RecordEntity record = new RecordEntity(user, item, recordCreateDTO.getQuantity(), operationEnum);
 
         record = recordRepository.save(record);
+        // possui_registros é atualizado por trigger
+        secondLevelCache.evictAfterCommit(UserEntity.class, recordCreateDTO.getUserID());
 
         return record;
     }
 
-    @Transactional(readOnly = true)
-    public Page<RecordProjection> findAll(Pageable pageable) {
-        return recordRepository.findAllPageable(pageable);
+    @Transactional
+    public RecordResponseDTO decreaseItemAndSave(RecordCreateDTO recordCreateDTO, RecordOperationEnum operationEnum) {
+        if (recordCreateDTO.getQuantity() == null || recordCreateDTO.getQuantity() <= 0) {
+            throw new OperationErrorException();
+        }
+
+        RecordResponseDTO record = recordRepository.decreaseItemAndRecord(recordCreateDTO.getUserID(),
+                        recordCreateDTO.getItemID(), recordCreateDTO.getQuantity(), operationEnum.name(),
+                        new Timestamp(System.currentTimeMillis()))
+                .map(RecordMapper::toResponseDTO)
+                .orElseThrow(() -> {
+                    userService.findById(recordCreateDTO.getUserID());
+                    itemService.throwDecreaseError(recordCreateDTO.getItemID());
+
+                    return new OperationErrorException();
+                });
+
+        // A baixa foi feita por SQL nativo, fora do ItemService
+        itemCatalogCache.evictAfterCommit(recordCreateDTO.getItemID());
+        secondLevelCache.evictAfterCommit(UserEntity.class, recordCreateDTO.getUserID());
+
+        return record;
+    }
+
+    // Listagens e buscas de auditoria varrem Registros: rodam isoladas no executor e no pool de relatórios
+    @ReportingWorkload
+    public CompletableFuture<Page<RecordSummary>> findAll(Pageable pageable) {
+        return CompletableFuture.completedFuture(recordRepository.findAllPageable(pageable));
+    }
+
+    @ReportingWorkload
+    public CompletableFuture<Window<RecordProjection>> findAll(ScrollPosition position, Pageable pageable) {
+        // Usuário (com a role) e item no mesmo SELECT: os @ManyToOne são EAGER e gerariam uma consulta por linha
+        Specification<RecordEntity> withAssociations = FetchSpecifications.fetch("user.role", "item");
+
+        return CompletableFuture.completedFuture(recordRepository.findBy(withAssociations, query -> query
+                        .sortBy(CursorCodec.seekSort(pageable.getSort()))
+                        .limit(pageable.getPageSize())
+                        .scroll(position))
+                .map(entity -> projectionFactory.createProjection(RecordProjection.class, entity)));
     }
 
     @Transactional(readOnly = true)
@@ -47,13 +113,25 @@ public class RecordService {
                 () -> new EntityNotFoundException(String.format("Registro não encontrado com o id='%s'", id)));
     }
 
-    @Transactional(readOnly = true)
-    public Page<RecordProjection> findByUsers(Long id, String name, String email, String role, Pageable pageable) {
-        return recordRepository.findByUsers(id, name, email, role, pageable);
+    @ReportingWorkload
+    public CompletableFuture<Page<RecordProjection>> findByUsers(Long id, String name, String email, String role, Pageable pageable) {
+        Specification<RecordEntity> specification = Specification.where(RecordSpecifications.userId(id))
+                .and(RecordSpecifications.userNameContains(name))
+                .and(RecordSpecifications.userEmailContains(email))
+                .and(RecordSpecifications.userRoleContains(role));
+
+        return CompletableFuture.completedFuture(MappedList.page(recordRepository.findAll(specification, pageable),
+                entity -> projectionFactory.createProjection(RecordProjection.class, entity)));
     }
 
-    @Transactional(readOnly = true)
-    public Page<RecordProjection> findByItens(Long id, Long itemTagging, String name, Pageable pageable) {
-        return recordRepository.findByItens(id, itemTagging, name, pageable);
+    @ReportingWorkload
+    public CompletableFuture<Page<RecordProjection>> findByItens(Long id, Long itemTagging, String name,
+                                                                 boolean contains, Pageable pageable) {
+        Specification<RecordEntity> specification = Specification.where(RecordSpecifications.itemId(id))
+                .and(RecordSpecifications.itemSipacCodeMatches(itemTagging, contains))
+                .and(RecordSpecifications.itemNameContains(name));
+
+        return CompletableFuture.completedFuture(MappedList.page(recordRepository.findAll(specification, pageable),
+                entity -> projectionFactory.createProjection(RecordProjection.class, entity)));
     }
 }
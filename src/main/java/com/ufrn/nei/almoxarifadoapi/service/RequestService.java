@@ -21,10 +21,18 @@ import java.util.Arrays;
 import java.util.Objects;
 
 import com.ufrn.nei.almoxarifadoapi.repository.projection.RequestProjection;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.RequestSummary;
+import com.ufrn.nei.almoxarifadoapi.repository.specification.FetchSpecifications;
+import com.ufrn.nei.almoxarifadoapi.utils.CursorCodec;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -46,6 +54,12 @@ public class RequestService {
     @Autowired
     private MailService mailService;
 
+    @Autowired
+    private ProjectionFactory projectionFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Transactional
     public RequestEntity create(RequestCreateDTO data) {
         UserEntity user = userService.findById(JwtAuthenticationContext.getId());
@@ -55,7 +69,8 @@ public class RequestService {
         RequestEntity request = RequestMapper.toRequest(data, user, item, status);
 
         requestRepository.save(request);
-        mailService.sendMailRequestCreatedAsync(user.getEmail(), user.getName(),
+        countTransition(status, "success");
+        mailService.sendMailRequestCreated(user.getEmail(), user.getName(),
                 item.getName(), request.getCreatedAt(), request.getQuantity());
 
         return request;
@@ -77,7 +92,7 @@ public class RequestService {
         if (updateRequestStatus(request, RequestStatusEnum.ACEITO)) {
             UserEntity user = request.getUser();
             ItemEntity item = request.getItem();
-            mailService.sendMailRequestAcceptedAsync(user.getEmail(), user.getName(),
+            mailService.sendMailRequestAccepted(user.getEmail(), user.getName(),
                     item.getName(), request.getUpdatedAt(), request.getQuantity());
 
             return Boolean.TRUE;
@@ -93,17 +108,13 @@ public class RequestService {
         if (updateRequestStatus(request, RequestStatusEnum.RECUSADO)) {
             UserEntity user = request.getUser();
             ItemEntity item = request.getItem();
-            mailService.sendMailRequestDeniedAsync(user.getEmail(), user.getName(),
+            mailService.sendMailRequestDenied(user.getEmail(), user.getName(),
                     item.getName(), request.getUpdatedAt(), request.getQuantity());
 
             return Boolean.TRUE;
         }
 
         return Boolean.FALSE;
-
-        validateRequestStatus(request, RequestStatusEnum.RECUSADO);
-
-        return updateRequestStatus(request, RequestStatusEnum.RECUSADO);
     }
 
     @Transactional
@@ -113,26 +124,33 @@ public class RequestService {
         if (updateRequestStatus(request, RequestStatusEnum.CANCELADO)) {
             UserEntity user = request.getUser();
             ItemEntity item = request.getItem();
-            mailService.sendMailRequestCanceledAsync(user.getEmail(), user.getName(),
+            mailService.sendMailRequestCanceled(user.getEmail(), user.getName(),
                     item.getName(), request.getUpdatedAt(), request.getQuantity());
 
             return Boolean.TRUE;
         }
 
         return Boolean.FALSE;
-
-        validateRequestStatus(request, RequestStatusEnum.CANCELADO);
-
-        return updateRequestStatus(request, RequestStatusEnum.CANCELADO);
     }
 
     @Transactional(readOnly = true)
-    public Page<RequestProjection> findAll(Pageable pageable) {
-        Page<RequestProjection> requests = requestRepository.findAllPageable(pageable);
+    public Page<RequestSummary> findAll(Pageable pageable) {
+        Page<RequestSummary> requests = requestRepository.findAllPageable(pageable);
 
         return requests;
     }
 
+    @Transactional(readOnly = true)
+    public Window<RequestProjection> findAll(ScrollPosition position, Pageable pageable) {
+        Specification<RequestEntity> withAssociations = FetchSpecifications.fetch("user.role", "item");
+
+        return requestRepository.findBy(withAssociations, query -> query
+                        .sortBy(CursorCodec.seekSort(pageable.getSort()))
+                        .limit(pageable.getPageSize())
+                        .scroll(position))
+                .map(entity -> projectionFactory.createProjection(RequestProjection.class, entity));
+    }
+
     @Transactional(readOnly = true)
     public RequestEntity findById(Long id) {
         RequestEntity request = requestRepository.findById(id).orElseThrow(
@@ -154,28 +172,28 @@ public class RequestService {
     }
 
     @Transactional(readOnly = true)
-    public Page<RequestProjection> findByStatus(String status, Pageable pageable) {
+    public Page<RequestSummary> findByStatus(String status, Pageable pageable) {
         // Convertendo a string de status para o enum statusEnum
         RequestStatusEnum statusEnum = Arrays.stream(RequestStatusEnum.values())
                 .filter(e -> e.name().equalsIgnoreCase(status))
                 .findFirst()
                 .orElseThrow(() -> new StatusNotFoundException(String.format("Status='%s' não encontrado", status)));
 
-        Page<RequestProjection> requests = requestRepository.findByStatus(statusEnum, pageable);
+        Page<RequestSummary> requests = requestRepository.findByStatus(statusEnum, pageable);
 
         return requests;
     }
 
     @Transactional(readOnly = true)
-    public Page<RequestProjection> findByUserID(Long id, Pageable pageable) {
-        Page<RequestProjection> requests = requestRepository.findByUserId(id, pageable);
+    public Page<RequestSummary> findByUserID(Long id, Pageable pageable) {
+        Page<RequestSummary> requests = requestRepository.findByUserId(id, pageable);
 
         return requests;
     }
 
     @Transactional(readOnly = true)
-    public Page<RequestProjection> findByItemID(Long id, Pageable pageable) {
-        Page<RequestProjection> requests = requestRepository.findByItemId(id, pageable);
+    public Page<RequestSummary> findByItemID(Long id, Pageable pageable) {
+        Page<RequestSummary> requests = requestRepository.findByItemId(id, pageable);
 
         return requests;
     }
@@ -193,9 +211,11 @@ public class RequestService {
             requestRepository.save(request);
         } catch (RuntimeException err) {
             log.error(err.getMessage());
+            countTransition(status, "error");
             return Boolean.FALSE;
         }
 
+        countTransition(status, "success");
         return Boolean.TRUE;
     }
 
@@ -203,13 +223,21 @@ public class RequestService {
         // Verificar se a solicitação já possui o novo status
         if (request.getStatus().equals(status)) {
             log.info("Solicitação já foi " +  status.toString().toLowerCase() +  " anteriormente");
+            countTransition(status, "rejected");
             throw new ModifyStatusException("Solicitação já foi" +  status.toString().toLowerCase() +  "anteriormente");
         }
 
         // Verificar se a solicitação está pendente
         if (!request.getStatus().equals(RequestStatusEnum.PENDENTE)) {
             log.warn("Tentando alterar o status de uma solicitação que não está como pendente.");
+            countTransition(status, "rejected");
             throw new ModifyStatusException("Não é possível alterar o status de uma solicitação que não está pendente");
         }
     }
+
+    // Mudanças de status das solicitações, pelo status de destino
+    private void countTransition(RequestStatusEnum status, String outcome) {
+        meterRegistry.counter("almoxarifado.requests.transitions",
+                "status", status.name(), "outcome", outcome).increment();
+    }
 }
@@ -7,10 +7,15 @@ import com.ufrn.nei.almoxarifadoapi.entity.RoleEntity;
 import com.ufrn.nei.almoxarifadoapi.exception.EntityNotFoundException;
 import com.ufrn.nei.almoxarifadoapi.repository.RoleRepository;
 import com.ufrn.nei.almoxarifadoapi.repository.projection.RoleProjection;
+import com.ufrn.nei.almoxarifadoapi.utils.CursorCodec;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +27,9 @@ public class RoleService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private ProjectionFactory projectionFactory;
+
     @Transactional
     public RoleEntity save(RoleCreateDto data) {
         RoleEntity role = RoleMapper.toRole(data);
@@ -47,6 +55,15 @@ public class RoleService {
         return roleRepository.findAllPageable(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Window<RoleProjection> findAllRoles(ScrollPosition position, Pageable pageable) {
+        return roleRepository.findBy(Specification.where(null), query -> query
+                        .sortBy(CursorCodec.seekSort(pageable.getSort()))
+                        .limit(pageable.getPageSize())
+                        .scroll(position))
+                .map(entity -> projectionFactory.createProjection(RoleProjection.class, entity));
+    }
+
     @Transactional
     public Boolean deleteById(Long id) {
         try {
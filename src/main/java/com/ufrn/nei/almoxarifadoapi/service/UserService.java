@@ -6,12 +6,18 @@ import com.ufrn.nei.almoxarifadoapi.entity.RoleEntity;
 import com.ufrn.nei.almoxarifadoapi.entity.UserEntity;
 import com.ufrn.nei.almoxarifadoapi.exception.EntityNotFoundException;
 import com.ufrn.nei.almoxarifadoapi.exception.PasswordInvalidException;
+import com.ufrn.nei.almoxarifadoapi.infra.jwt.JwtUserVersionRegistry;
 import com.ufrn.nei.almoxarifadoapi.infra.mail.MailService;
 import com.ufrn.nei.almoxarifadoapi.repository.UserRepository;
 import com.ufrn.nei.almoxarifadoapi.repository.projection.UserProjection;
+import com.ufrn.nei.almoxarifadoapi.repository.specification.FetchSpecifications;
+import com.ufrn.nei.almoxarifadoapi.utils.CursorCodec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,6 +38,12 @@ public class UserService {
     @Autowired
     private MailService mailService;
 
+    @Autowired
+    private JwtUserVersionRegistry versionRegistry;
+
+    @Autowired
+    private ProjectionFactory projectionFactory;
+
     @Transactional
     public UserEntity save(UserCreateDTO createDTO) {
         UserEntity user = UserMapper.toUser(createDTO);
@@ -42,7 +54,7 @@ public class UserService {
         user.setRecords(List.of());
         userRepository.save(user);
 
-        mailService.sendMailUserCreatedAsync(user.getEmail(), user.getName());
+        mailService.sendMailUserCreated(user.getEmail(), user.getName());
 
         return user;
     }
@@ -53,6 +65,10 @@ public class UserService {
                 () -> new EntityNotFoundException(String.format("Usuário não encontrado com id='%s'", id)));
     }
 
+    public UserEntity getReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
     @Transactional(readOnly = true)
     public UserEntity findByEmail(String email) {
         UserEntity user = userRepository.findByEmail(email).orElseThrow(
@@ -66,6 +82,15 @@ public class UserService {
         return userRepository.findAllPageable(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Window<UserProjection> findAllPageable(ScrollPosition position, Pageable pageable) {
+        return userRepository.findBy(FetchSpecifications.fetch("role"), query -> query
+                        .sortBy(CursorCodec.seekSort(pageable.getSort()))
+                        .limit(pageable.getPageSize())
+                        .scroll(position))
+                .map(entity -> projectionFactory.createProjection(UserProjection.class, entity));
+    }
+
     @Transactional
     public void updatePassword(String currentPassword, String newPassword, String confirmPassword, Long id) {
         if (!newPassword.equals(confirmPassword)) {
@@ -79,6 +104,8 @@ public class UserService {
         }
 
         user.setPassword(passwordEncoder.encode(newPassword));
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        versionRegistry.invalidate(id, user.getTokenVersion());
     }
 
     @Transactional
@@ -90,6 +117,7 @@ public class UserService {
         }
 
         user.setActive(false);
+        versionRegistry.disable(id);
     }
 
     // Método(s) Auxiliar(es)
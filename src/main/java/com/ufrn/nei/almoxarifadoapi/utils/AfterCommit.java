@@ -0,0 +1,22 @@
+package com.ufrn.nei.almoxarifadoapi.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Executa a ação depois do commit da transação atual, ou na hora se não houver transação.
+// Usado pelos caches em memória para não publicar escritas que ainda podem ser desfeitas.
+public class AfterCommit {
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
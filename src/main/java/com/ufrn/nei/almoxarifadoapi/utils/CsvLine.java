@@ -0,0 +1,57 @@
+package com.ufrn.nei.almoxarifadoapi.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Divide uma linha de CSV respeitando campos entre aspas (RFC 4180): o separador dentro de aspas
+// faz parte do campo e "" representa uma aspa. Os campos são devolvidos sem aspas e sem espaços nas pontas.
+public class CsvLine {
+    public static List<String> split(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        fields.add(field.toString().trim());
+
+        return fields;
+    }
+
+    // ';' se aparecer fora de aspas (nomes podem ter vírgula sem aspas), senão ','.
+    public static char detectSeparator(String line) {
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && c == ';') {
+                return ';';
+            }
+        }
+
+        return ',';
+    }
+}
@@ -0,0 +1,135 @@
+package com.ufrn.nei.almoxarifadoapi.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufrn.nei.almoxarifadoapi.enums.RecordOperationEnum;
+import com.ufrn.nei.almoxarifadoapi.enums.RequestStatusEnum;
+import com.ufrn.nei.almoxarifadoapi.exception.InvalidCursorException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Converte a posição do keyset (valores das colunas de ordenação + id do último elemento) em um
+// cursor opaco. Cada valor é guardado com o seu tipo para ser restaurado sem depender da entidade.
+public class CursorCodec {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Enums que podem aparecer na ordenação. O cursor vem do cliente, então só nomes desta lista
+    // são resolvidos; nenhuma classe é carregada a partir do texto do cursor.
+    private static final Map<String, Class<?>> ENUMS = Map.of(
+            RecordOperationEnum.class.getSimpleName(), RecordOperationEnum.class,
+            RequestStatusEnum.class.getSimpleName(), RequestStatusEnum.class);
+
+    // Propriedades que aceitam NULL, também quando vêm de uma associação (item.sipacCode). O keyset
+    // compara "coluna > valor", que nunca é verdadeiro para NULL, então as páginas seguintes pulariam linhas.
+    private static final Set<String> NULLABLE = Set.of("sipacCode", "sipacCodeText");
+
+    // O id sempre entra como último critério para que a posição seja única.
+    public static Sort seekSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+
+            if (NULLABLE.contains(property.substring(property.lastIndexOf('.') + 1))) {
+                throw new InvalidCursorException(
+                        String.format("Ordenação por '%s' não suportada no modo cursor.", property));
+            }
+        }
+
+        if (sort.getOrderFor("id") != null) {
+            return sort;
+        }
+
+        return sort.and(Sort.by("id"));
+    }
+
+    public static ScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            Map<String, List<String>> encoded = MAPPER.readValue(
+                    Base64.getUrlDecoder().decode(cursor), new TypeReference<LinkedHashMap<String, List<String>>>() {});
+            Map<String, Object> keys = new LinkedHashMap<>();
+
+            for (Map.Entry<String, List<String>> entry : encoded.entrySet()) {
+                keys.put(entry.getKey(), fromString(entry.getValue().get(0), entry.getValue().get(1)));
+            }
+
+            return ScrollPosition.forward(keys);
+        } catch (IOException | RuntimeException ex) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new InvalidCursorException("Posição de paginação não suportada.");
+        }
+
+        Map<String, List<String>> encoded = new LinkedHashMap<>();
+        keyset.getKeys().forEach((key, value) -> encoded.put(key, toString(value)));
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(encoded));
+        } catch (IOException ex) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    // Um valor nulo não tem posição no keyset (ver NULLABLE), então também é recusado.
+    private static List<String> toString(Object value) {
+        if (value instanceof Long) {
+            return List.of("L", value.toString());
+        } else if (value instanceof Integer) {
+            return List.of("I", value.toString());
+        } else if (value instanceof Boolean) {
+            return List.of("B", value.toString());
+        } else if (value instanceof String) {
+            return List.of("S", value.toString());
+        } else if (value instanceof Timestamp) {
+            return List.of("T", value.toString());
+        } else if (value instanceof Enum<?> enumValue
+                && ENUMS.get(enumValue.getDeclaringClass().getSimpleName()) == enumValue.getDeclaringClass()) {
+            return List.of("E", enumValue.getDeclaringClass().getSimpleName() + "#" + enumValue.name());
+        }
+
+        throw new InvalidCursorException("Ordenação não suportada no modo cursor.");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object fromString(String type, String value) {
+        switch (type) {
+            case "L":
+                return Long.valueOf(value);
+            case "I":
+                return Integer.valueOf(value);
+            case "B":
+                return Boolean.valueOf(value);
+            case "S":
+                return value;
+            case "T":
+                return Timestamp.valueOf(value);
+            case "E":
+                String[] parts = value.split("#", 2);
+                Class<?> enumClass = ENUMS.get(parts[0]);
+
+                if (enumClass == null || parts.length < 2) {
+                    throw new InvalidCursorException();
+                }
+
+                return Enum.valueOf((Class<Enum>) enumClass, parts[1]);
+            default:
+                throw new InvalidCursorException();
+        }
+    }
+}
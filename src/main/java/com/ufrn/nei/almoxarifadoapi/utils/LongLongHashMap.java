@@ -0,0 +1,191 @@
+package com.ufrn.nei.almoxarifadoapi.utils;
+
+import java.util.Arrays;
+
+// Mapa long -> long com endereçamento aberto (sondagem linear) sobre dois arrays primitivos,
+// sem boxing nem objeto por entrada. A chave 0 é usada como posição vazia e guardada à parte.
+// Não é thread-safe.
+public class LongLongHashMap {
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongHashMap() {
+        this(16);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public long get(long key, long missingValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : missingValue;
+        }
+
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == EMPTY) {
+                return missingValue;
+            }
+        }
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    public void put(long key, long value) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = false;
+            size--;
+            return true;
+        }
+
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        shiftBack(slot);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    // Remoção sem marcadores: puxa para trás as entradas seguintes do mesmo agrupamento que
+    // não ficariam mais alcançáveis a partir da sua posição ideal.
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long current = keys[slot];
+            if (current == EMPTY) {
+                break;
+            }
+
+            int ideal = slot(current);
+            if (((slot - ideal) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = current;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+
+        keys[gap] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = slot(key);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slot(long key) {
+        // Mistura os bits (finalizador do MurmurHash3) para espalhar códigos sequenciais
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return (int) hash & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR <= expectedSize) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+}
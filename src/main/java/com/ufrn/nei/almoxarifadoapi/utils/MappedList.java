@@ -0,0 +1,40 @@
+package com.ufrn.nei.almoxarifadoapi.utils;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+// Visão somente leitura de uma lista em que cada elemento é convertido na hora do acesso.
+// Diferente de Page.map, não cria uma segunda lista: o Jackson converte e escreve um elemento
+// por vez direto na resposta.
+public final class MappedList<S, T> extends AbstractList<T> implements RandomAccess {
+    private final List<S> source;
+    private final Function<? super S, ? extends T> mapper;
+
+    private MappedList(List<S> source, Function<? super S, ? extends T> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    public static <S, T> List<T> of(List<S> source, Function<? super S, ? extends T> mapper) {
+        return new MappedList<>(source, mapper);
+    }
+
+    public static <S, T> Page<T> page(Page<S> page, Function<? super S, ? extends T> mapper) {
+        return new PageImpl<>(of(page.getContent(), mapper), page.getPageable(), page.getTotalElements());
+    }
+
+    @Override
+    public T get(int index) {
+        return mapper.apply(source.get(index));
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+}
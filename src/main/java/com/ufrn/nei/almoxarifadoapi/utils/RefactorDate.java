@@ -4,9 +4,11 @@ import java.sql.Timestamp;
 import java.time.format.DateTimeFormatter;
 
 public class RefactorDate {
+    // DateTimeFormatter é imutável e thread-safe, então é criado uma vez só
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
     public static String refactorTimestamp(Timestamp date) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
-        String formatedDate = date.toLocalDateTime().format(formatter);
+        String formatedDate = date.toLocalDateTime().format(FORMATTER);
 
         return formatedDate;
     }
@@ -0,0 +1,4 @@
+-- V4 removeu disponivel, mas a entidade continuou mapeando a coluna e só o ddl-auto=update a recriava,
+-- depois do Flyway. V14 e V15 dependem dela, então ela volta aqui. IF NOT EXISTS cobre os bancos
+-- em que o Hibernate já a criou.
+ALTER TABLE Itens ADD COLUMN IF NOT EXISTS disponivel boolean NOT NULL DEFAULT true;
@@ -0,0 +1,16 @@
+-- Sequências com incremento 50 para o otimizador pooled-lo do Hibernate.
+-- O setval garante que o próximo valor fique acima do maior id já existente.
+ALTER SEQUENCE roles_id_seq INCREMENT BY 50;
+SELECT setval('roles_id_seq', COALESCE((SELECT MAX(id) FROM Roles), 0) + 1, false);
+
+ALTER SEQUENCE itens_id_seq INCREMENT BY 50;
+SELECT setval('itens_id_seq', COALESCE((SELECT MAX(id) FROM Itens), 0) + 1, false);
+
+ALTER SEQUENCE usuarios_id_seq INCREMENT BY 50;
+SELECT setval('usuarios_id_seq', COALESCE((SELECT MAX(id) FROM Usuarios), 0) + 1, false);
+
+ALTER SEQUENCE registros_id_seq INCREMENT BY 50;
+SELECT setval('registros_id_seq', COALESCE((SELECT MAX(id) FROM Registros), 0) + 1, false);
+
+ALTER SEQUENCE solicitações_id_seq INCREMENT BY 50;
+SELECT setval('solicitações_id_seq', COALESCE((SELECT MAX(id) FROM Solicitações), 0) + 1, false);
@@ -0,0 +1,39 @@
+-- Itens com código SIPAC passam a ser únicos pelo código e os sem código, pelo nome normalizado.
+-- Duplicatas existentes são unificadas no menor id (que mantém o nome) antes da criação dos índices.
+CREATE TEMP TABLE itens_duplicados AS
+SELECT i.id, d.manter
+FROM Itens i
+JOIN (SELECT lower(btrim(nome)) AS nome_normalizado, MIN(id) AS manter
+      FROM Itens
+      WHERE codigo_sipac IS NULL
+      GROUP BY lower(btrim(nome))
+      HAVING COUNT(*) > 1) d ON lower(btrim(i.nome)) = d.nome_normalizado
+WHERE i.codigo_sipac IS NULL AND i.id <> d.manter
+UNION ALL
+SELECT i.id, d.manter
+FROM Itens i
+JOIN (SELECT codigo_sipac, MIN(id) AS manter
+      FROM Itens
+      WHERE codigo_sipac IS NOT NULL
+      GROUP BY codigo_sipac
+      HAVING COUNT(*) > 1) d ON i.codigo_sipac = d.codigo_sipac
+WHERE i.id <> d.manter;
+
+UPDATE Itens
+SET quantidade = Itens.quantidade + s.total,
+    disponivel = Itens.quantidade + s.total > 0
+FROM (SELECT d.manter, SUM(i.quantidade) AS total
+      FROM itens_duplicados d
+      JOIN Itens i ON i.id = d.id
+      GROUP BY d.manter) s
+WHERE Itens.id = s.manter;
+
+UPDATE Registros SET id_item = d.manter FROM itens_duplicados d WHERE Registros.id_item = d.id;
+UPDATE Solicitações SET item_id = d.manter FROM itens_duplicados d WHERE Solicitações.item_id = d.id;
+DELETE FROM Itens WHERE id IN (SELECT id FROM itens_duplicados);
+
+DROP TABLE itens_duplicados;
+
+-- Chaves usadas pelo ON CONFLICT do cadastro de itens.
+CREATE UNIQUE INDEX itens_codigo_sipac_unique ON Itens (codigo_sipac);
+CREATE UNIQUE INDEX itens_nome_sem_codigo_unique ON Itens ((lower(btrim(nome)))) WHERE codigo_sipac IS NULL;
@@ -0,0 +1,7 @@
+-- Índices para a paginação por cursor. O id entra como último critério de ordenação,
+-- então cada índice termina em id para a busca por (coluna, id) > (valor, último id).
+CREATE INDEX itens_disponivel_id_idx ON Itens (id) WHERE disponivel;
+CREATE INDEX itens_disponivel_nome_id_idx ON Itens (nome, id) WHERE disponivel;
+CREATE INDEX registros_data_id_idx ON Registros (data, id);
+CREATE INDEX solicitacoes_criado_em_id_idx ON Solicitações (criado_em, id);
+CREATE INDEX usuarios_nome_id_idx ON Usuarios (nome, id);
@@ -0,0 +1,6 @@
+-- Busca de registros por nome/e-mail do usuário com LIKE '%termo%'.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX usuarios_nome_trgm_idx ON Usuarios USING gin (lower(nome) gin_trgm_ops);
+CREATE INDEX usuarios_email_trgm_idx ON Usuarios USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX registros_id_usuario_idx ON Registros (id_usuario);
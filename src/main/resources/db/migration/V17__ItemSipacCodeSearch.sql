@@ -0,0 +1,8 @@
+-- Código SIPAC em texto para buscas com LIKE. Prefixo ('123%') usa o índice text_pattern_ops,
+-- trecho ('%123%') usa o índice trigram.
+ALTER TABLE Itens ADD COLUMN codigo_sipac_texto text GENERATED ALWAYS AS (codigo_sipac::text) STORED;
+
+CREATE INDEX itens_codigo_sipac_texto_prefix_idx ON Itens (codigo_sipac_texto text_pattern_ops);
+CREATE INDEX itens_codigo_sipac_texto_trgm_idx ON Itens USING gin (codigo_sipac_texto gin_trgm_ops);
+CREATE INDEX itens_nome_trgm_idx ON Itens USING gin (lower(nome) gin_trgm_ops);
+CREATE INDEX registros_id_item_idx ON Registros (id_item);
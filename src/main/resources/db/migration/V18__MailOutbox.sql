@@ -0,0 +1,23 @@
+-- Fila de emails gravada na mesma transação da alteração de negócio.
+-- O despachante agendado consome as linhas pendentes em lotes.
+CREATE TABLE email_outbox (
+    id BIGINT PRIMARY KEY,
+    tipo VARCHAR(30) NOT NULL,
+    destinatario VARCHAR(255) NOT NULL,
+    nome_usuario VARCHAR(255) NOT NULL,
+    nome_item VARCHAR(255),
+    quantidade BIGINT,
+    data_evento TIMESTAMP,
+    status VARCHAR(10) NOT NULL,
+    tentativas INT NOT NULL DEFAULT 0,
+    proxima_tentativa TIMESTAMP NOT NULL,
+    ultimo_erro VARCHAR(500),
+    criado_em TIMESTAMP NOT NULL,
+    enviado_em TIMESTAMP
+);
+
+CREATE SEQUENCE email_outbox_id_seq INCREMENT BY 50 OWNED BY email_outbox.id;
+
+-- Linhas ENVIANDO com proxima_tentativa vencida são de um despachante que caiu no meio do envio.
+CREATE INDEX idx_email_outbox_pendentes ON email_outbox (proxima_tentativa)
+    WHERE status IN ('PENDENTE', 'ENVIANDO');
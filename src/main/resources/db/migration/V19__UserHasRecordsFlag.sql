@@ -0,0 +1,34 @@
+-- Indica se o usuário possui registros, para a listagem não carregar a coleção inteira.
+-- Mantida por trigger em Registros, então vale para qualquer caminho de escrita (JPA ou SQL nativo).
+ALTER TABLE Usuarios ADD COLUMN possui_registros BOOLEAN NOT NULL DEFAULT false;
+
+UPDATE Usuarios u SET possui_registros = true
+WHERE EXISTS (SELECT 1 FROM Registros r WHERE r.id_usuario = u.id);
+
+CREATE FUNCTION atualizar_possui_registros() RETURNS trigger AS $$
+DECLARE
+    usuario_anterior BIGINT;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        usuario_anterior := OLD.id_usuario;
+    ELSE
+        UPDATE Usuarios SET possui_registros = true
+        WHERE id = NEW.id_usuario AND NOT possui_registros;
+
+        IF TG_OP = 'UPDATE' AND OLD.id_usuario IS DISTINCT FROM NEW.id_usuario THEN
+            usuario_anterior := OLD.id_usuario;
+        END IF;
+    END IF;
+
+    IF usuario_anterior IS NOT NULL THEN
+        UPDATE Usuarios SET possui_registros = EXISTS (SELECT 1 FROM Registros r WHERE r.id_usuario = usuario_anterior)
+        WHERE id = usuario_anterior;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER registros_possui_registros
+AFTER INSERT OR DELETE OR UPDATE OF id_usuario ON Registros
+FOR EACH ROW EXECUTE FUNCTION atualizar_possui_registros();
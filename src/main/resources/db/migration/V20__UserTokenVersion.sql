@@ -0,0 +1,3 @@
+-- Versão dos tokens do usuário, incrementada a cada troca de senha.
+-- Persistida para que tokens revogados continuem inválidos depois de reiniciar a aplicação.
+ALTER TABLE Usuarios ADD COLUMN versao_token INTEGER NOT NULL DEFAULT 0;
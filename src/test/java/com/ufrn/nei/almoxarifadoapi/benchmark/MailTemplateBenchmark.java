@@ -0,0 +1,74 @@
+package com.ufrn.nei.almoxarifadoapi.benchmark;
+
+import com.ufrn.nei.almoxarifadoapi.infra.mail.MailMessage;
+import com.ufrn.nei.almoxarifadoapi.infra.mail.MailTemplates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Compara a montagem antiga dos emails (String.format sobre o text block e um DateTimeFormatter
+// novo por chamada) com os modelos compilados de MailTemplates. Para ver a alocação por operação
+// rode com o profiler de GC: adicione .addProfiler("gc") no main ou use -prof gc.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailTemplateBenchmark {
+    private static final String EMAIL = "usuario@ufrn.br";
+    private static final String NAME = "Maria da Silva";
+    private static final String ITEM = "Papel A4 500 folhas";
+    private static final Long QUANTITY = 12L;
+    private static final Timestamp DATE = Timestamp.valueOf(LocalDateTime.of(2024, 3, 4, 10, 15, 30));
+
+    private final MailTemplates mailTemplates = new MailTemplates("almoxarifado@ufrn.br");
+
+    @Benchmark
+    public SimpleMailMessage stringFormat() {
+        String formatDate = DATE.toLocalDateTime().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
+        String text = String.format("""
+                        Olá %s,
+
+                        Sua solicitação do item '%s' foi aceita!
+
+                        Detalhes:
+                        - Item: %s
+                        - Quantidade: %d
+                        - Hora da Aceitação: %s
+
+                        Obrigado por utilizar nosso sistema.""",
+                NAME, ITEM, ITEM, QUANTITY, formatDate);
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("almoxarifado@ufrn.br");
+        message.setTo(EMAIL);
+        message.setSubject("Sua solicitação foi aceita!");
+        message.setText(text);
+
+        return message;
+    }
+
+    @Benchmark
+    public MailMessage compiledTemplate() {
+        return mailTemplates.buildMailMessageRequestAccepted(EMAIL, NAME, ITEM, DATE, QUANTITY);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MailTemplateBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
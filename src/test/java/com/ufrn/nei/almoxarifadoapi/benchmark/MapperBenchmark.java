@@ -0,0 +1,124 @@
+package com.ufrn.nei.almoxarifadoapi.benchmark;
+
+import com.ufrn.nei.almoxarifadoapi.dto.item.ItemResponseDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.mapper.ItemMapper;
+import com.ufrn.nei.almoxarifadoapi.dto.mapper.RequestMapper;
+import com.ufrn.nei.almoxarifadoapi.dto.request.RequestResponseDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.user.UserResponseDTO;
+import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.RecordEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.RequestEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.RoleEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.UserEntity;
+import com.ufrn.nei.almoxarifadoapi.enums.RequestStatusEnum;
+import com.ufrn.nei.almoxarifadoapi.utils.RemoveRolePrefix;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.PropertyMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+
+// Compara os mapeadores antigos (um ModelMapper novo e PropertyMap anônimo por chamada) com os
+// mapeadores escritos à mão. O main roda com o profiler de GC, que mostra a alocação por operação
+// (gc.alloc.rate.norm).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    private ItemEntity item;
+    private RequestEntity request;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        item = new ItemEntity();
+        item.setId(10L);
+        item.setName("Papel A4 500 folhas");
+        item.setSipacCode(123456L);
+        item.setQuantity(40);
+        item.setType("Resma");
+
+        UserEntity user = new UserEntity();
+        user.setId(7L);
+        user.setName("Maria da Silva");
+        user.setEmail("maria@ufrn.br");
+        user.setRole(new RoleEntity(1L, "ROLE_USER"));
+        user.setRecords(List.of(new RecordEntity()));
+        user.setHasRecords(true);
+
+        request = new RequestEntity(RequestStatusEnum.PENDENTE, "Reposição da secretaria", 5L, user, item);
+        request.setId(3L);
+    }
+
+    @Benchmark
+    public ItemResponseDTO itemModelMapper() {
+        return new ModelMapper().map(item, ItemResponseDTO.class);
+    }
+
+    @Benchmark
+    public ItemResponseDTO itemHandWritten() {
+        return ItemMapper.toResponseDTO(item);
+    }
+
+    @Benchmark
+    public RequestResponseDTO requestModelMapper() {
+        UserResponseDTO user = legacyUserResponse(request.getUser());
+        ItemResponseDTO itemDto = new ModelMapper().map(request.getItem(), ItemResponseDTO.class);
+
+        PropertyMap<RequestEntity, RequestResponseDTO> propertyMap = new PropertyMap<>() {
+            @Override
+            protected void configure() {
+                map().setUser(user);
+                map().setItem(itemDto);
+            }
+        };
+
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.addMappings(propertyMap);
+
+        return modelMapper.map(request, RequestResponseDTO.class);
+    }
+
+    @Benchmark
+    public RequestResponseDTO requestHandWritten() {
+        return RequestMapper.toResponseDTO(request);
+    }
+
+    private static UserResponseDTO legacyUserResponse(UserEntity userEntity) {
+        String role = RemoveRolePrefix.getRoleWithoutPrefix(userEntity.getRole());
+        Boolean existRecord = !userEntity.getRecords().isEmpty();
+
+        PropertyMap<UserEntity, UserResponseDTO> propertyMap = new PropertyMap<>() {
+            @Override
+            protected void configure() {
+                map().setRole(role);
+                map().setExistRecord(existRecord);
+            }
+        };
+
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.addMappings(propertyMap);
+
+        return modelMapper.map(userEntity, UserResponseDTO.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
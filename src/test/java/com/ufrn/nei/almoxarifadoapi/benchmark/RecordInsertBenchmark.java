@@ -0,0 +1,196 @@
+package com.ufrn.nei.almoxarifadoapi.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.MailOutboxEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.RecordEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.RequestEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.RoleEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.UserEntity;
+import com.ufrn.nei.almoxarifadoapi.enums.RecordOperationEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+
+// Compara inserções de registros pelo EntityManager com id IDENTITY (antes: uma ida ao banco por linha
+// para obter o id, sem lote) e com o mapeamento atual de RecordEntity (sequência pooled-lo e
+// hibernate.jdbc.batch_size). batchSize=0 isola o efeito da sequência sem lote. O resultado é dado
+// em inserções/s. Por padrão usa H2 em memória; para medir no PostgreSQL informe -Dbenchmark.url,
+// -Dbenchmark.user e -Dbenchmark.password de um banco descartável (o schema é recriado).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordInsertBenchmark {
+    private static final int ROWS = 500;
+    private static final int ITEMS = 100;
+
+    // IdentityRecordEntity é declarada como entidade só aqui: com @Entity ela seria encontrada pelo
+    // scan de entidades da aplicação nos testes e criaria a tabela registros_identity em todo contexto.
+    private static final String IDENTITY_MAPPING = """
+            <entity-mappings xmlns="https://jakarta.ee/xml/ns/persistence/orm" version="3.1">
+                <entity class="com.ufrn.nei.almoxarifadoapi.benchmark.RecordInsertBenchmark$IdentityRecordEntity">
+                    <table name="registros_identity"/>
+                </entity>
+            </entity-mappings>
+            """;
+
+    @Param({"0", "50"})
+    private int batchSize;
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private Long userId;
+    private Long[] itemIds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Fora do Spring Boot o logback fica em DEBUG e o log do Hibernate dominaria a medição
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(ch.qos.logback.classic.Level.WARN);
+
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(RoleEntity.class)
+                .addAnnotatedClass(UserEntity.class)
+                .addAnnotatedClass(ItemEntity.class)
+                .addAnnotatedClass(RecordEntity.class)
+                .addAnnotatedClass(RequestEntity.class)
+                .addAnnotatedClass(MailOutboxEntity.class)
+                .addInputStream(new ByteArrayInputStream(IDENTITY_MAPPING.getBytes(StandardCharsets.UTF_8)))
+                .setProperty(AvailableSettings.URL,
+                        System.getProperty("benchmark.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1"))
+                .setProperty(AvailableSettings.USER, System.getProperty("benchmark.user", "sa"))
+                .setProperty(AvailableSettings.PASS, System.getProperty("benchmark.password", ""))
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+                // Mesmos valores de application.properties
+                .setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+
+        entityManager.getTransaction().begin();
+        RoleEntity role = new RoleEntity();
+        role.setRole("ROLE_USER");
+        entityManager.persist(role);
+
+        UserEntity user = new UserEntity();
+        user.setName("Maria da Silva");
+        user.setEmail("maria@ufrn.br");
+        user.setPassword("senha");
+        user.setRole(role);
+        entityManager.persist(user);
+        userId = user.getId();
+
+        itemIds = new Long[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            ItemEntity item = new ItemEntity();
+            item.setName("Item " + i);
+            item.setQuantity(1000);
+            item.setType("Unidade");
+            entityManager.persist(item);
+            itemIds[i] = item.getId();
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void identity() {
+        entityManager.getTransaction().begin();
+
+        for (int i = 0; i < ROWS; i++) {
+            IdentityRecordEntity record = new IdentityRecordEntity();
+            record.user = entityManager.getReference(UserEntity.class, userId);
+            record.item = entityManager.getReference(ItemEntity.class, itemIds[i % ITEMS]);
+            record.quantity = 1;
+            record.operationEnum = RecordOperationEnum.CONSUMO;
+            entityManager.persist(record);
+        }
+
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void pooled() {
+        entityManager.getTransaction().begin();
+
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(new RecordEntity(entityManager.getReference(UserEntity.class, userId),
+                    entityManager.getReference(ItemEntity.class, itemIds[i % ITEMS]), 1, RecordOperationEnum.CONSUMO));
+        }
+
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+    // RecordEntity como era antes da sequência pooled-lo (mapeada como entidade em IDENTITY_MAPPING)
+    public static class IdentityRecordEntity {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @ManyToOne
+        @JoinColumn(name = "id_usuario")
+        private UserEntity user;
+
+        @ManyToOne
+        @JoinColumn(name = "id_item")
+        private ItemEntity item;
+
+        @Column(name = "quantidade", nullable = false)
+        private Integer quantity;
+
+        @Column(name = "operacao", nullable = false, length = 60)
+        @Enumerated(EnumType.STRING)
+        private RecordOperationEnum operationEnum;
+
+        private Timestamp data = new Timestamp(System.currentTimeMillis());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecordInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,531 @@
+package com.ufrn.nei.almoxarifadoapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufrn.nei.almoxarifadoapi.dto.item.ItemCreateDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.item.ItemDeleteDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.item.ItemUpdateDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.record.RecordCreateDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.request.RequestCreateDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.role.RoleCreateDto;
+import com.ufrn.nei.almoxarifadoapi.dto.role.RoleUpdateDto;
+import com.ufrn.nei.almoxarifadoapi.dto.user.UserCreateDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.user.UserLoginDTO;
+import com.ufrn.nei.almoxarifadoapi.dto.user.UserPasswordUpdateDTO;
+import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.RecordEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.RequestEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.RoleEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.UserEntity;
+import com.ufrn.nei.almoxarifadoapi.enums.RecordOperationEnum;
+import com.ufrn.nei.almoxarifadoapi.enums.RequestStatusEnum;
+import com.ufrn.nei.almoxarifadoapi.infra.cache.ItemCatalogCache;
+import com.ufrn.nei.almoxarifadoapi.infra.jwt.JwtUserVersionRegistry;
+import com.ufrn.nei.almoxarifadoapi.infra.jwt.JwtUtils;
+import com.ufrn.nei.almoxarifadoapi.repository.ItemRepository;
+import com.ufrn.nei.almoxarifadoapi.repository.RecordRepository;
+import com.ufrn.nei.almoxarifadoapi.repository.RequestRepository;
+import com.ufrn.nei.almoxarifadoapi.repository.RoleRepository;
+import com.ufrn.nei.almoxarifadoapi.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+
+import static com.ufrn.nei.almoxarifadoapi.infra.datasource.StatementCountMatchers.statements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Limite de statements por endpoint, contando com os caches frios: o contexto e os dados do setup são
+// compartilhados pelos testes, então o cache de segundo nível e o de itens são esvaziados antes de cada
+// um. As listagens usam o tamanho de página padrão (20), que cobre todas as linhas criadas no setup.
+// O JavaMailSender é um mock, por isso o health check de email, que exige um JavaMailSenderImpl, fica
+// desligado.
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {"MAIL_SENDER=almoxarifado@test.com", "MAIL_PASSWORD=test",
+        "management.health.mail.enabled=false"})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointStatementCountTest {
+    private static final String PASSWORD = "senha123";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private RecordRepository recordRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUserVersionRegistry versionRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ItemCatalogCache itemCatalogCache;
+
+    private RoleEntity userRole;
+    private UserEntity admin;
+    private UserEntity user;
+    private ItemEntity firstItem;
+    private ItemEntity secondItem;
+    private RecordEntity record;
+    private String token;
+
+    @BeforeAll
+    public void setup() {
+        userRole = roleRepository.findByRole("ROLE_USER").orElseThrow();
+        admin = createUser("admin.contagem@ufrn.br", roleRepository.findByRole("ROLE_ADMIN").orElseThrow());
+        user = createUser("usuario.contagem@ufrn.br", userRole);
+        firstItem = createItem("Caneta", 7001L);
+        secondItem = createItem("Papel A4", 7002L);
+
+        for (UserEntity owner : new UserEntity[]{admin, user}) {
+            for (ItemEntity item : new ItemEntity[]{firstItem, secondItem}) {
+                record = recordRepository.save(new RecordEntity(owner, item, 1, RecordOperationEnum.CONSUMO));
+                createRequest(owner, item);
+            }
+        }
+
+        token = JwtUtils.JWT_BEARER + JwtUtils.createToken(admin.getId(), admin.getEmail(), "ADMIN",
+                versionRegistry.getVersion(admin.getId())).getToken();
+    }
+
+    @BeforeEach
+    public void clearCaches() {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        itemRepository.findAll().forEach(item -> itemCatalogCache.evict(item.getId()));
+    }
+
+    // Autenticação
+
+    @Test
+    @DisplayName("POST /auth: busca o usuário para autenticar e para gerar o token")
+    public void testAuthenticate() throws Exception {
+        mockMvc.perform(json(post("/api/v1/auth"), new UserLoginDTO(user.getEmail(), PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(4));
+    }
+
+    // Itens
+
+    @Test
+    @DisplayName("GET /itens: conteúdo e contagem")
+    public void testFindAllItems() throws Exception {
+        perform(get("/api/v1/itens")).andExpect(status().isOk()).andExpect(statements().atMost(2));
+    }
+
+    @Test
+    @DisplayName("GET /itens?after: uma consulta por página")
+    public void testFindAllItemsByCursor() throws Exception {
+        perform(get("/api/v1/itens").param("after", "")).andExpect(status().isOk()).andExpect(statements().atMost(1));
+    }
+
+    @Test
+    @DisplayName("GET /itens/{id}: no máximo uma consulta, nenhuma com o item em cache")
+    public void testFindItem() throws Exception {
+        perform(get("/api/v1/itens/{id}", firstItem.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(1));
+    }
+
+    @Test
+    @DisplayName("POST /itens/sipac: uma consulta por id e outra por código, independente da quantidade de códigos")
+    public void testFindItemsByCodes() throws Exception {
+        perform(json(post("/api/v1/itens/sipac"), Map.of("codes", new long[]{7001L, 7002L, 9999L})))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(2));
+    }
+
+    @Test
+    @DisplayName("POST /itens: cadastro em uma única instrução")
+    public void testCreateItem() throws Exception {
+        perform(json(post("/api/v1/itens"), new ItemCreateDTO("Grampeador", 5, "Unidade", 7101L)))
+                .andExpect(status().isCreated())
+                .andExpect(statements().atMost(1));
+    }
+
+    @Test
+    @DisplayName("PUT /itens/{id}: leitura e atualização")
+    public void testUpdateItem() throws Exception {
+        ItemEntity item = createItem("Clipes", 7102L);
+
+        perform(json(put("/api/v1/itens/{id}", item.getId()), new ItemUpdateDTO("Clipes nº 2", null, 0)))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(2));
+    }
+
+    @Test
+    @DisplayName("DELETE /itens/{id}: baixa em uma única instrução")
+    public void testDeleteItem() throws Exception {
+        ItemEntity item = createItem("Borracha", 7103L);
+
+        perform(json(delete("/api/v1/itens/{id}", item.getId()), new ItemDeleteDTO(1)))
+                .andExpect(status().isNoContent())
+                .andExpect(statements().atMost(1));
+    }
+
+    // Operações
+
+    @Test
+    @DisplayName("POST /operacoes/consumo: baixa e registro em uma única instrução")
+    public void testConsume() throws Exception {
+        perform(json(post("/api/v1/operacoes/consumo"), new RecordCreateDTO(user.getId(), firstItem.getId(), 1)))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(1));
+    }
+
+    @Test
+    @DisplayName("POST /operacoes/exclusao: baixa e registro em uma única instrução")
+    public void testDelete() throws Exception {
+        perform(json(post("/api/v1/operacoes/exclusao"), new RecordCreateDTO(user.getId(), secondItem.getId(), 1)))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(1));
+    }
+
+    @Test
+    @DisplayName("POST /operacoes/cadastro: upsert do item, sequência e inserção do registro")
+    public void testRegister() throws Exception {
+        perform(json(post("/api/v1/operacoes/cadastro"), new ItemCreateDTO("Cola", 3, "Unidade", 7104L)))
+                .andExpect(status().isCreated())
+                .andExpect(statements().atMost(3));
+    }
+
+    @Test
+    @DisplayName("POST /operacoes/cadastro/lote: busca, sequências e inserções em lote, sem depender do número de linhas")
+    public void testRegisterBatch() throws Exception {
+        String csv = "nome;codigo_sipac;quantidade;tipo\n" +
+                "Pasta;7201;2;Unidade\n" +
+                "Envelope;7202;10;Pacote\n" +
+                "Caneta;7001;5;Unidade\n";
+
+        perform(post("/api/v1/operacoes/cadastro/lote").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(6));
+    }
+
+    // Registros
+
+    @Test
+    @DisplayName("GET /records: conteúdo e contagem, com usuário e item na mesma consulta")
+    public void testFindAllRecords() throws Exception {
+        perform(get("/api/v1/records")).andExpect(status().isOk()).andExpect(statements().atMost(2));
+    }
+
+    @Test
+    @DisplayName("GET /records?after: uma consulta por página, com usuário, role e item")
+    public void testFindAllRecordsByCursor() throws Exception {
+        perform(get("/api/v1/records").param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(1));
+    }
+
+    @Test
+    @DisplayName("GET /records/{id}: registro, usuário e item em uma consulta")
+    public void testFindRecord() throws Exception {
+        perform(get("/api/v1/records/{id}", record.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(1));
+    }
+
+    @Test
+    @DisplayName("GET /records/query/users: conteúdo e contagem")
+    public void testFindRecordsByUsers() throws Exception {
+        perform(get("/api/v1/records/query/users").param("id", user.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(2));
+    }
+
+    @Test
+    @DisplayName("GET /records/query/itens: conteúdo e contagem")
+    public void testFindRecordsByItens() throws Exception {
+        perform(get("/api/v1/records/query/itens").param("name", "Caneta"))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(2));
+    }
+
+    // Solicitações
+
+    @Test
+    @DisplayName("POST /requests: usuário, item, inserção e email na fila")
+    public void testCreateRequest() throws Exception {
+        perform(json(post("/api/v1/requests"), new RequestCreateDTO(firstItem.getId(), 1L, "Reposição")))
+                .andExpect(status().isCreated())
+                .andExpect(statements().atMost(7));
+    }
+
+    @Test
+    @DisplayName("PATCH /requests/accept/{id}: solicitação, baixa, atualização e email na fila")
+    public void testAcceptRequest() throws Exception {
+        RequestEntity request = createRequest(user, firstItem);
+
+        perform(patch("/api/v1/requests/accept/{id}", request.getId()))
+                .andExpect(status().isNoContent())
+                .andExpect(statements().atMost(6));
+    }
+
+    @Test
+    @DisplayName("PATCH /requests/decline/{id}: solicitação, atualização e email na fila")
+    public void testDeclineRequest() throws Exception {
+        RequestEntity request = createRequest(user, firstItem);
+
+        perform(patch("/api/v1/requests/decline/{id}", request.getId()))
+                .andExpect(status().isNoContent())
+                .andExpect(statements().atMost(5));
+    }
+
+    @Test
+    @DisplayName("PATCH /requests/cancel/{id}: solicitação, atualização e email na fila")
+    public void testCancelRequest() throws Exception {
+        RequestEntity request = createRequest(user, firstItem);
+
+        perform(patch("/api/v1/requests/cancel/{id}", request.getId()))
+                .andExpect(status().isNoContent())
+                .andExpect(statements().atMost(5));
+    }
+
+    @Test
+    @DisplayName("GET /requests: conteúdo e contagem")
+    public void testFindAllRequests() throws Exception {
+        perform(get("/api/v1/requests")).andExpect(status().isOk()).andExpect(statements().atMost(2));
+    }
+
+    @Test
+    @DisplayName("GET /requests?after: uma consulta por página, com usuário, role e item")
+    public void testFindAllRequestsByCursor() throws Exception {
+        perform(get("/api/v1/requests").param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(1));
+    }
+
+    @Test
+    @DisplayName("GET /requests/{id}: solicitação com usuário e item")
+    public void testFindRequest() throws Exception {
+        RequestEntity request = createRequest(user, secondItem);
+
+        perform(get("/api/v1/requests/{id}", request.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(1));
+    }
+
+    @Test
+    @DisplayName("GET /requests/status/{status}: conteúdo e contagem")
+    public void testFindRequestsByStatus() throws Exception {
+        perform(get("/api/v1/requests/status/{status}", "pendente"))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(2));
+    }
+
+    @Test
+    @DisplayName("GET /requests/user/{id}: conteúdo e contagem")
+    public void testFindRequestsByUser() throws Exception {
+        perform(get("/api/v1/requests/user/{id}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(2));
+    }
+
+    @Test
+    @DisplayName("GET /requests/item/{id}: conteúdo e contagem")
+    public void testFindRequestsByItem() throws Exception {
+        perform(get("/api/v1/requests/item/{id}", secondItem.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(2));
+    }
+
+    // Roles
+
+    @Test
+    @DisplayName("POST /roles: sequência e inserção")
+    public void testCreateRole() throws Exception {
+        perform(json(post("/api/v1/roles"), new RoleCreateDto("ROLE_ESTAGIARIO")))
+                .andExpect(status().isCreated())
+                .andExpect(statements().atMost(2));
+    }
+
+    @Test
+    @DisplayName("GET /roles/{id}: no máximo uma consulta")
+    public void testFindRole() throws Exception {
+        perform(get("/api/v1/roles/{id}", userRole.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(1));
+    }
+
+    @Test
+    @DisplayName("GET /roles: conteúdo e contagem")
+    public void testFindAllRoles() throws Exception {
+        perform(get("/api/v1/roles")).andExpect(status().isOk()).andExpect(statements().atMost(2));
+    }
+
+    @Test
+    @DisplayName("GET /roles?after: uma consulta por página")
+    public void testFindAllRolesByCursor() throws Exception {
+        perform(get("/api/v1/roles").param("after", "")).andExpect(status().isOk()).andExpect(statements().atMost(1));
+    }
+
+    @Test
+    @DisplayName("PUT /roles/{id}: leitura e atualização")
+    public void testUpdateRole() throws Exception {
+        RoleEntity role = roleRepository.save(new RoleEntity(null, "ROLE_BOLSISTA"));
+
+        perform(json(put("/api/v1/roles/{id}", role.getId()), new RoleUpdateDto("ROLE_MONITOR")))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(2));
+    }
+
+    @Test
+    @DisplayName("DELETE /roles/{id}: existência, leitura e remoção")
+    public void testDeleteRole() throws Exception {
+        RoleEntity role = roleRepository.save(new RoleEntity(null, "ROLE_VISITANTE"));
+
+        perform(delete("/api/v1/roles/{id}", role.getId()))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(statements().atMost(3));
+    }
+
+    // Usuários
+
+    @Test
+    @DisplayName("POST /users: role, sequência, inserção e email na fila")
+    public void testCreateUser() throws Exception {
+        mockMvc.perform(json(post("/api/v1/users"), new UserCreateDTO("Novo Usuario", "novo.contagem@ufrn.br", PASSWORD)))
+                .andExpect(status().isCreated())
+                .andExpect(statements().atMost(5));
+    }
+
+    @Test
+    @DisplayName("GET /users/{id}: usuário com a role em uma consulta")
+    public void testFindUser() throws Exception {
+        perform(get("/api/v1/users/{id}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(1));
+    }
+
+    @Test
+    @DisplayName("GET /users: conteúdo com a role e contagem")
+    public void testFindAllUsers() throws Exception {
+        perform(get("/api/v1/users")).andExpect(status().isOk()).andExpect(statements().atMost(2));
+    }
+
+    @Test
+    @DisplayName("GET /users?after: uma consulta por página, com a role")
+    public void testFindAllUsersByCursor() throws Exception {
+        perform(get("/api/v1/users").param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(1));
+    }
+
+    @Test
+    @DisplayName("GET /users/query: usuário e role")
+    public void testFindUserByEmail() throws Exception {
+        perform(get("/api/v1/users/query").param("email", user.getEmail()))
+                .andExpect(status().isOk())
+                .andExpect(statements().atMost(2));
+    }
+
+    @Test
+    @DisplayName("PUT /users/{id}: leitura e atualização da senha")
+    public void testUpdatePassword() throws Exception {
+        UserEntity target = createUser("senha.contagem@ufrn.br", userRole);
+
+        perform(json(put("/api/v1/users/{id}", target.getId()), new UserPasswordUpdateDTO(PASSWORD, "novaSenha", "novaSenha")))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(statements().atMost(2));
+    }
+
+    @Test
+    @DisplayName("DELETE /users/{id}: leitura e desativação")
+    public void testDeleteUser() throws Exception {
+        UserEntity target = createUser("removido.contagem@ufrn.br", userRole);
+
+        perform(delete("/api/v1/users/{id}", target.getId()))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(statements().atMost(2));
+    }
+
+    // Métodos Auxiliares
+
+    // Endpoints assíncronos só têm o total depois do asyncDispatch
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request.header(JwtUtils.JWT_AUTHORIZATION, token));
+        MvcResult result = actions.andReturn();
+
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
+    private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+    }
+
+    private UserEntity createUser(String email, RoleEntity role) {
+        UserEntity created = new UserEntity();
+        created.setName(email.substring(0, email.indexOf('@')));
+        created.setEmail(email);
+        created.setPassword(passwordEncoder.encode(PASSWORD));
+        created.setRole(role);
+
+        return userRepository.save(created);
+    }
+
+    private ItemEntity createItem(String name, Long sipacCode) {
+        ItemEntity item = new ItemEntity();
+        item.setName(name);
+        item.setSipacCode(sipacCode);
+        item.setQuantity(1000);
+        item.setType("Unidade");
+
+        return itemRepository.save(item);
+    }
+
+    private RequestEntity createRequest(UserEntity owner, ItemEntity item) {
+        return requestRepository.save(new RequestEntity(RequestStatusEnum.PENDENTE, "Solicitação", 1L, owner, item));
+    }
+}
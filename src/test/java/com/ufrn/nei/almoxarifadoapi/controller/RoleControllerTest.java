@@ -7,6 +7,7 @@ import com.ufrn.nei.almoxarifadoapi.dto.role.RoleUpdateDto;
 import com.ufrn.nei.almoxarifadoapi.dto.mapper.RoleMapper;
 import com.ufrn.nei.almoxarifadoapi.entity.RoleEntity;
 import com.ufrn.nei.almoxarifadoapi.repository.RoleRepository;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.RoleProjection;
 import com.ufrn.nei.almoxarifadoapi.service.RoleService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +19,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -85,14 +87,15 @@ public class RoleControllerTest {
         RoleEntity roleEntity = new RoleEntity();
         roleEntity.setId(1L);
         roleEntity.setRole("Cliente");
-        Page<RoleEntity> mockPage = new PageImpl<>(Collections.singletonList(roleEntity));
+        RoleProjection projection = new SpelAwareProxyProjectionFactory().createProjection(RoleProjection.class, roleEntity);
+        Page<RoleProjection> mockPage = new PageImpl<>(Collections.singletonList(projection));
         when(roleService.findAllRoles(any(Pageable.class))).thenReturn(mockPage);
 
         mockMvc.perform(get("/api/v1/roles"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].role").value("Cliente"));
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].role").value("Cliente"));
 
         verify(roleService, times(1)).findAllRoles(any(Pageable.class));
     }
@@ -0,0 +1,70 @@
+package com.ufrn.nei.almoxarifadoapi.infra.cache;
+
+import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemCatalogCacheTest {
+    @Mock
+    private SecondLevelCache secondLevelCache;
+
+    @InjectMocks
+    private ItemCatalogCache itemCatalogCache;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(itemCatalogCache, "maxSize", 100);
+        ReflectionTestUtils.setField(itemCatalogCache, "ttl", Duration.ofMinutes(10));
+        itemCatalogCache.init();
+    }
+
+    @Test
+    @DisplayName("Leitura iniciada antes de uma escrita não volta a colocar o item antigo no cache")
+    public void testStaleReadDropped() {
+        long stamp = itemCatalogCache.readStamp();
+        ItemEntity stale = item(1L, 10);
+
+        // Sem transação, a invalidação roda na hora, como o afterCommit de quem gravou
+        itemCatalogCache.evictAfterCommit(1L);
+        itemCatalogCache.put(stale, stamp);
+
+        assertTrue(itemCatalogCache.getById(1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Leitura iniciada depois da escrita é guardada no cache")
+    public void testFreshReadCached() {
+        itemCatalogCache.evictAfterCommit(1L);
+
+        long stamp = itemCatalogCache.readStamp();
+        itemCatalogCache.put(item(1L, 7), stamp);
+
+        assertEquals(7, itemCatalogCache.getById(1L).orElseThrow().getQuantity());
+    }
+
+    private static ItemEntity item(Long id, int quantity) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        ItemEntity item = new ItemEntity();
+        item.setId(id);
+        item.setName("Caneta");
+        item.setQuantity(quantity);
+        item.setCreatedAt(now);
+        item.setUpdatedAt(now);
+        item.setAvailable(true);
+
+        return item;
+    }
+}
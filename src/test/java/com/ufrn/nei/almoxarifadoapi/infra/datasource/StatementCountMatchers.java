@@ -0,0 +1,49 @@
+package com.ufrn.nei.almoxarifadoapi.infra.datasource;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Asserções do MockMvc sobre o StatementCounter da requisição, no estilo de status().isOk():
+//     mockMvc.perform(get("/api/v1/itens")).andExpect(statements().atMost(2));
+// Em endpoints assíncronos use depois do asyncDispatch, quando o total já está fechado.
+public class StatementCountMatchers {
+    public static StatementCountMatchers statements() {
+        return new StatementCountMatchers();
+    }
+
+    public ResultMatcher atMost(long max) {
+        return result -> {
+            long statements = counter(result).getStatements();
+
+            assertTrue(statements <= max, () -> String.format("%s executou %d statements, o limite é %d",
+                    describe(result), statements, max));
+        };
+    }
+
+    public ResultMatcher rowsAtMost(long max) {
+        return result -> {
+            long rows = counter(result).getRows();
+
+            assertTrue(rows <= max, () -> String.format("%s leu %d linhas, o limite é %d",
+                    describe(result), rows, max));
+        };
+    }
+
+    private static StatementCounter counter(MvcResult result) {
+        StatementCounter counter =
+                (StatementCounter) result.getRequest().getAttribute(StatementCountFilter.COUNTER_ATTRIBUTE);
+        assertNotNull(counter, "A requisição não passou pelo StatementCountFilter");
+
+        return counter;
+    }
+
+    private static String describe(MvcResult result) {
+        MockHttpServletRequest request = result.getRequest();
+
+        return request.getMethod() + " " + request.getRequestURI();
+    }
+}
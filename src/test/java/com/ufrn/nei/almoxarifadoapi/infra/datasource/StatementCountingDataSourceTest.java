@@ -0,0 +1,69 @@
+package com.ufrn.nei.almoxarifadoapi.infra.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StatementCountingDataSourceTest {
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:contagem;DB_CLOSE_DELAY=-1", "sa", "");
+
+        jdbcTemplate = new JdbcTemplate(new StatementCountingDataSource(dataSource));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS itens (nome VARCHAR(20))");
+        jdbcTemplate.update("DELETE FROM itens");
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.update("INSERT INTO itens (nome) VALUES (?)", "Item " + i);
+        }
+    }
+
+    @AfterEach
+    public void stopCounter() {
+        StatementCounter.stop();
+    }
+
+    @Test
+    @DisplayName("Conta cada statement executado e cada linha lida")
+    public void testCountsStatementsAndRows() {
+        StatementCounter counter = StatementCounter.start();
+
+        List<String> names = jdbcTemplate.queryForList("SELECT nome FROM itens", String.class);
+        jdbcTemplate.update("UPDATE itens SET nome = nome");
+        jdbcTemplate.batchUpdate("INSERT INTO itens (nome) VALUES ('Lote 1')", "INSERT INTO itens (nome) VALUES ('Lote 2')");
+
+        assertEquals(5, names.size());
+        assertEquals(3, counter.getStatements());
+        assertEquals(5, counter.getRows());
+    }
+
+    @Test
+    @DisplayName("Sem contador ativo as consultas funcionam normalmente")
+    public void testWithoutCounter() {
+        assertNull(StatementCounter.current());
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM itens", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Tarefas em outra thread contam no contador de quem as submeteu")
+    public void testPropagate() {
+        StatementCounter counter = StatementCounter.start();
+
+        CompletableFuture.runAsync(StatementCounter.propagate(
+                () -> jdbcTemplate.queryForList("SELECT nome FROM itens", String.class))).join();
+
+        assertEquals(1, counter.getStatements());
+        assertEquals(5, counter.getRows());
+    }
+}
@@ -0,0 +1,156 @@
+package com.ufrn.nei.almoxarifadoapi.infra.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Bancos H2 fazem o papel de primário, réplica e pool de relatórios; cada um responde com o próprio nome
+class WorkloadRoutingDataSourceTest {
+    private static final DataSource PRIMARY = database("primario");
+    private static final DataSource REPLICA = database("replica");
+    private static final DataSource REPORTING = database("relatorios");
+
+    @AfterEach
+    public void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Transações readOnly vão para a réplica e as demais para o primário")
+    public void testRouting() {
+        Routing routing = new Routing(Duration.ofMinutes(1));
+
+        assertEquals("replica", routing.origin(true));
+        assertEquals("primario", routing.origin(false));
+    }
+
+    @Test
+    @DisplayName("Sem réplica, as leituras comuns ficam no primário")
+    public void testRoutingWithoutReplica() {
+        Routing routing = new Routing(null, Duration.ofMinutes(1));
+
+        assertEquals("primario", routing.origin(true));
+    }
+
+    @Test
+    @DisplayName("Leituras de relatório vão para o pool de relatórios; escritas continuam no primário")
+    public void testReportingWorkload() {
+        Routing routing = new Routing(Duration.ofMinutes(1));
+        String[] origins = new String[2];
+
+        WorkloadContext.reporting(() -> {
+            origins[0] = routing.origin(true);
+            origins[1] = routing.origin(false);
+        }).run();
+
+        assertEquals("relatorios", origins[0]);
+        assertEquals("primario", origins[1]);
+        assertEquals("replica", routing.origin(true));
+    }
+
+    @Test
+    @DisplayName("Leituras marcadas para o primário não vão para a réplica")
+    public void testPrimaryRead() {
+        Routing routing = new Routing(Duration.ofMinutes(1));
+
+        assertEquals("primario", WorkloadContext.primary(() -> routing.origin(true)));
+        assertEquals("replica", routing.origin(true));
+    }
+
+    @Test
+    @DisplayName("Quem acabou de gravar lê do primário; os outros usuários continuam na réplica")
+    public void testReadYourWrites() {
+        Routing routing = new Routing(Duration.ofMinutes(1));
+
+        authenticate("maria@ufrn.br");
+        assertEquals("replica", routing.origin(true));
+        assertEquals("primario", routing.origin(false));
+        assertEquals("primario", routing.origin(true));
+
+        authenticate("joao@ufrn.br");
+        assertEquals("replica", routing.origin(true));
+    }
+
+    @Test
+    @DisplayName("Depois da janela, quem gravou volta a ler da réplica")
+    public void testReadYourWritesWindowExpired() {
+        Routing routing = new Routing(Duration.ZERO);
+
+        authenticate("maria@ufrn.br");
+        assertEquals("primario", routing.origin(false));
+        assertEquals("replica", routing.origin(true));
+    }
+
+    @Test
+    @DisplayName("Uma transação de escrita desfeita não desvia as leituras para o primário")
+    public void testRollbackDoesNotCount() {
+        Routing routing = new Routing(Duration.ofMinutes(1));
+
+        authenticate("maria@ufrn.br");
+        routing.transaction(false).executeWithoutResult(status -> {
+            routing.jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class);
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", routing.origin(true));
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS origem (nome VARCHAR(20))");
+        jdbcTemplate.update("DELETE FROM origem");
+        jdbcTemplate.update("INSERT INTO origem (nome) VALUES (?)", name);
+
+        return dataSource;
+    }
+
+    private static class Routing {
+        private final JdbcTemplate jdbcTemplate;
+        private final DataSourceTransactionManager transactionManager;
+
+        Routing(Duration readYourWritesWindow) {
+            this(REPLICA, readYourWritesWindow);
+        }
+
+        Routing(DataSource replica, Duration readYourWritesWindow) {
+            DataSource dataSource = new LazyConnectionDataSourceProxy(
+                    new WorkloadRoutingDataSource(PRIMARY, replica, REPORTING, readYourWritesWindow));
+
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            transactionManager = new DataSourceTransactionManager(dataSource);
+        }
+
+        TransactionTemplate transaction(boolean readOnly) {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(readOnly);
+
+            return template;
+        }
+
+        String origin(boolean readOnly) {
+            return transaction(readOnly).execute(
+                    status -> jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.ufrn.nei.almoxarifadoapi.infra.jwt;
+
+import com.ufrn.nei.almoxarifadoapi.repository.UserRepository;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.UserTokenVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class JwtUserVersionRegistryTest {
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private JwtUserVersionRegistry versionRegistry;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        when(userRepository.findIdsByActiveFalse()).thenReturn(List.of(3L));
+        when(userRepository.findTokenVersions()).thenReturn(List.of(new UserTokenVersion(1L, 2)));
+        versionRegistry.load();
+    }
+
+    @AfterEach
+    public void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    @DisplayName("Versões e usuários desativados são carregados do banco na inicialização")
+    public void testLoad() {
+        assertFalse(versionRegistry.isValid(1L, 0));
+        assertTrue(versionRegistry.isValid(1L, 2));
+        assertTrue(versionRegistry.isValid(2L, 0));
+        assertFalse(versionRegistry.isValid(3L, 0));
+    }
+
+    @Test
+    @DisplayName("A revogação só vale depois do commit da transação")
+    public void testInvalidateAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        versionRegistry.invalidate(2L, 1);
+        versionRegistry.disable(4L);
+
+        assertTrue(versionRegistry.isValid(2L, 0));
+        assertTrue(versionRegistry.isValid(4L, 0));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertFalse(versionRegistry.isValid(2L, 0));
+        assertTrue(versionRegistry.isValid(2L, 1));
+        assertFalse(versionRegistry.isValid(4L, 0));
+    }
+
+    @Test
+    @DisplayName("A releitura do banco traz as revogações feitas em outras instâncias")
+    public void testRefresh() {
+        when(userRepository.findIdsByActiveFalse()).thenReturn(List.of(3L, 5L));
+        when(userRepository.findTokenVersions())
+                .thenReturn(List.of(new UserTokenVersion(1L, 2), new UserTokenVersion(2L, 1)));
+
+        versionRegistry.refresh();
+
+        assertFalse(versionRegistry.isValid(2L, 0));
+        assertTrue(versionRegistry.isValid(2L, 1));
+        assertFalse(versionRegistry.isValid(5L, 0));
+    }
+
+    @Test
+    @DisplayName("Uma leitura anterior à revogação local não volta a versão do token")
+    public void testRefreshKeepsNewerVersion() {
+        versionRegistry.invalidate(1L, 3);
+        versionRegistry.refresh();
+
+        assertFalse(versionRegistry.isValid(1L, 2));
+        assertTrue(versionRegistry.isValid(1L, 3));
+    }
+
+    @Test
+    @DisplayName("Sem commit (rollback) a revogação é descartada")
+    public void testInvalidateRolledBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        versionRegistry.invalidate(2L, 1);
+        TransactionSynchronizationManager.clear();
+
+        assertTrue(versionRegistry.isValid(2L, 0));
+    }
+}
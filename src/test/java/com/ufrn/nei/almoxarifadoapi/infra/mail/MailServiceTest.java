@@ -0,0 +1,63 @@
+package com.ufrn.nei.almoxarifadoapi.infra.mail;
+
+import com.ufrn.nei.almoxarifadoapi.enums.MailOutboxStatusEnum;
+import com.ufrn.nei.almoxarifadoapi.repository.MailOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MailServiceTest {
+    @Mock
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Mock
+    private MailTemplates mailTemplates;
+
+    @InjectMocks
+    private MailService mailService;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(mailService, "digestWindow", Duration.ZERO);
+
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void clearSynchronization() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    @DisplayName("Email enfileirado só entra no contador depois do commit")
+    public void testCounterAfterCommit() {
+        mailService.sendMailUserCreated("maria@ufrn.br", "Maria");
+
+        assertEquals(0, mailService.getCounters().get(MailOutboxStatusEnum.PENDENTE));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(1, mailService.getCounters().get(MailOutboxStatusEnum.PENDENTE));
+    }
+
+    @Test
+    @DisplayName("Rollback de quem enfileirou não altera o contador")
+    public void testCounterRolledBack() {
+        mailService.sendMailUserCreated("maria@ufrn.br", "Maria");
+        TransactionSynchronizationManager.clear();
+
+        assertEquals(0, mailService.getCounters().get(MailOutboxStatusEnum.PENDENTE));
+    }
+}
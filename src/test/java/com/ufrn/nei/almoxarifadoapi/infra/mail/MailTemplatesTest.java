@@ -0,0 +1,117 @@
+package com.ufrn.nei.almoxarifadoapi.infra.mail;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MailTemplatesTest {
+    private static final int THREADS = 16;
+    private static final int MESSAGES_PER_THREAD = 2_000;
+
+    private final MailTemplates mailTemplates = new MailTemplates("almoxarifado@ufrn.br");
+
+    @Test
+    @DisplayName("Renderiza o modelo com as variáveis e a data formatada")
+    void renderRequestAcceptedTest() {
+        Timestamp date = Timestamp.valueOf(LocalDateTime.of(2024, 3, 4, 10, 15, 30));
+
+        MailMessage message = mailTemplates.buildMailMessageRequestAccepted("maria@ufrn.br", "Maria",
+                "Papel A4", date, 3L);
+
+        assertEquals("almoxarifado@ufrn.br", message.from());
+        assertEquals("maria@ufrn.br", message.to());
+        assertEquals("Sua solicitação foi aceita!", message.subject());
+        assertEquals("""
+                Olá Maria,
+
+                Sua solicitação do item 'Papel A4' foi aceita!
+
+                Detalhes:
+                - Item: Papel A4
+                - Quantidade: 3
+                - Hora da Aceitação: 04/03/2024 10:15:30
+
+                Obrigado por utilizar nosso sistema.""", message.text());
+    }
+
+    @Test
+    @DisplayName("Resumo lista cada solicitação com seu novo status")
+    void renderDigestTest() {
+        Timestamp date = Timestamp.valueOf(LocalDateTime.of(2024, 3, 4, 10, 15, 30));
+
+        MailMessage message = mailTemplates.buildMailMessageDigest("maria@ufrn.br", "Maria", List.of(
+                new MailDigestEntry("Papel A4", 3L, "aceita", date),
+                new MailDigestEntry("Caneta azul", 10L, "recusada", date)));
+
+        assertEquals("maria@ufrn.br", message.to());
+        assertEquals("""
+                Olá Maria,
+
+                Houve 2 atualizações nas suas solicitações:
+
+                - Papel A4 (quantidade: 3): aceita em 04/03/2024 10:15:30
+                - Caneta azul (quantidade: 10): recusada em 04/03/2024 10:15:30
+
+                Obrigado por utilizar nosso sistema.""", message.text());
+    }
+
+    @Test
+    @DisplayName("Variável desconhecida no modelo falha na compilação")
+    void compileUnknownVariableTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MailTemplate.compile("Olá {usuario}", List.of("nome")));
+    }
+
+    @Test
+    @DisplayName("Envios em paralelo não misturam destinatários e conteúdos")
+    void concurrentRenderTest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Timestamp date = Timestamp.valueOf(LocalDateTime.now());
+
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                Callable<Integer> task = () -> {
+                    start.await();
+                    int checked = 0;
+                    for (int i = 0; i < MESSAGES_PER_THREAD; i++) {
+                        String id = thread + "-" + i;
+                        MailMessage message = mailTemplates.buildMailMessageRequestCreated(
+                                "usuario" + id + "@ufrn.br", "Usuario " + id, "Item " + id, date, (long) i);
+
+                        assertEquals("usuario" + id + "@ufrn.br", message.to());
+                        assertTrue(message.text().startsWith("Olá Usuario " + id + ","), message.text());
+                        assertTrue(message.text().contains("- Item: Item " + id + "\n"), message.text());
+                        assertTrue(message.text().contains("- Quantidade: " + i + "\n"), message.text());
+                        checked++;
+                    }
+                    return checked;
+                };
+                results.add(executor.submit(task));
+            }
+
+            start.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(MESSAGES_PER_THREAD, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
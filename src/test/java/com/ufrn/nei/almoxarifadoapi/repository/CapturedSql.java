@@ -0,0 +1,26 @@
+package com.ufrn.nei.almoxarifadoapi.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Guarda o último SELECT gerado pelo Hibernate na thread atual. Registrado nos testes com
+// hibernate.session_factory.statement_inspector para que o SQL de uma consulta possa ser examinado.
+public class CapturedSql implements StatementInspector {
+    private static final ThreadLocal<String> LAST_SELECT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        if (sql.regionMatches(true, 0, "select", 0, 6)) {
+            LAST_SELECT.set(sql);
+        }
+
+        return sql;
+    }
+
+    public static String lastSelect() {
+        return LAST_SELECT.get();
+    }
+
+    public static void clear() {
+        LAST_SELECT.remove();
+    }
+}
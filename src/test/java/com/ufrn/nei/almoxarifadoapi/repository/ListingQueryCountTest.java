@@ -0,0 +1,189 @@
+package com.ufrn.nei.almoxarifadoapi.repository;
+
+import com.ufrn.nei.almoxarifadoapi.entity.ItemEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.RecordEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.RequestEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.RoleEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.UserEntity;
+import com.ufrn.nei.almoxarifadoapi.enums.RecordOperationEnum;
+import com.ufrn.nei.almoxarifadoapi.enums.RequestStatusEnum;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.RecordSummary;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.RequestSummary;
+import com.ufrn.nei.almoxarifadoapi.repository.specification.FetchSpecifications;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ListingQueryCountTest {
+    // Página menor que o total: uma consulta para o conteúdo e uma para o count
+    private static final Pageable PAGE = PageRequest.of(0, 3);
+    private static final long STATEMENTS_PER_PAGE = 2;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private RecordRepository recordRepository;
+
+    private UserEntity firstUser;
+    private ItemEntity firstItem;
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        RoleEntity role = entityManager.persist(new RoleEntity(null, "ROLE_USER"));
+
+        List<UserEntity> users = new ArrayList<>();
+        List<ItemEntity> items = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            UserEntity user = new UserEntity();
+            user.setName("Usuario " + i);
+            user.setEmail("usuario" + i + "@ufrn.br");
+            user.setPassword("senha");
+            user.setRole(role);
+            users.add(entityManager.persist(user));
+
+            ItemEntity item = new ItemEntity();
+            item.setName("Item " + i);
+            item.setSipacCode(1000L + i);
+            item.setQuantity(100);
+            item.setType("Unidade");
+            items.add(entityManager.persist(item));
+        }
+
+        for (int i = 0; i < 8; i++) {
+            UserEntity user = users.get(i % users.size());
+            ItemEntity item = items.get(i % 2);
+            entityManager.persist(new RequestEntity(RequestStatusEnum.PENDENTE, "Solicitação " + i, 1L, user, item));
+            entityManager.persist(new RecordEntity(user, item, 1, RecordOperationEnum.CONSUMO));
+        }
+
+        firstUser = users.get(0);
+        firstItem = items.get(0);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Listagem de solicitações executa uma consulta por página")
+    public void testRequestFindAllStatements() {
+        assertRequestPage(() -> requestRepository.findAllPageable(PAGE));
+    }
+
+    @Test
+    @DisplayName("Listagem de solicitações por status executa uma consulta por página")
+    public void testRequestFindByStatusStatements() {
+        assertRequestPage(() -> requestRepository.findByStatus(RequestStatusEnum.PENDENTE, PAGE));
+    }
+
+    @Test
+    @DisplayName("Listagem de solicitações por usuário executa uma consulta por página")
+    public void testRequestFindByUserStatements() {
+        Page<RequestSummary> page = requestRepository.findByUserId(firstUser.getId(), PageRequest.of(0, 1));
+
+        assertEquals(STATEMENTS_PER_PAGE, statistics.getPrepareStatementCount());
+        page.forEach(request -> assertEquals(firstUser.getEmail(), request.user().email()));
+    }
+
+    @Test
+    @DisplayName("Listagem de solicitações por item executa uma consulta por página")
+    public void testRequestFindByItemStatements() {
+        assertRequestPage(() -> requestRepository.findByItemId(firstItem.getId(), PAGE));
+    }
+
+    @Test
+    @DisplayName("Listagem de registros executa uma consulta por página")
+    public void testRecordFindAllStatements() {
+        Page<RecordSummary> page = recordRepository.findAllPageable(PAGE);
+
+        assertEquals(PAGE.getPageSize(), page.getNumberOfElements());
+        for (RecordSummary record : page) {
+            assertNotNull(record.item().name());
+            assertEquals("USER", record.user().role());
+            assertNotNull(record.creationDate());
+        }
+
+        assertEquals(STATEMENTS_PER_PAGE, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Página por cursor de registros traz usuário, role e item na mesma consulta")
+    public void testRecordScrollStatements() {
+        Window<RecordEntity> window = recordRepository.findBy(FetchSpecifications.fetch("user.role", "item"),
+                query -> query.sortBy(Sort.by("id")).limit(PAGE.getPageSize()).scroll(ScrollPosition.keyset()));
+
+        assertEquals(PAGE.getPageSize(), window.size());
+        for (RecordEntity record : window) {
+            assertNotNull(record.getItem().getName());
+            assertEquals("ROLE_USER", record.getUser().getRole().getRole());
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Página por cursor de solicitações traz usuário, role e item na mesma consulta")
+    public void testRequestScrollStatements() {
+        Window<RequestEntity> window = requestRepository.findBy(FetchSpecifications.fetch("user.role", "item"),
+                query -> query.sortBy(Sort.by("id")).limit(PAGE.getPageSize()).scroll(ScrollPosition.keyset()));
+        Window<RequestEntity> next = requestRepository.findBy(FetchSpecifications.fetch("user.role", "item"),
+                query -> query.sortBy(Sort.by("id")).limit(PAGE.getPageSize()).scroll(window.positionAt(window.size() - 1)));
+
+        assertEquals(PAGE.getPageSize(), next.size());
+        for (RequestEntity request : next) {
+            assertNotNull(request.getItem().getName());
+            assertEquals("ROLE_USER", request.getUser().getRole().getRole());
+        }
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private void assertRequestPage(Supplier<Page<RequestSummary>> query) {
+        Page<RequestSummary> page = query.get();
+
+        assertEquals(PAGE.getPageSize(), page.getNumberOfElements());
+        for (RequestSummary request : page) {
+            // Ler os dados aninhados não pode disparar novas consultas
+            assertNotNull(request.user().name());
+            assertEquals("USER", request.user().role());
+            assertNotNull(request.user().existRecord());
+            assertNotNull(request.item().name());
+            assertNotNull(request.creationDate());
+        }
+
+        assertEquals(STATEMENTS_PER_PAGE, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,83 @@
+package com.ufrn.nei.almoxarifadoapi.repository;
+
+import com.ufrn.nei.almoxarifadoapi.entity.RecordEntity;
+import com.ufrn.nei.almoxarifadoapi.repository.specification.RecordSpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Os planos são do SQL que o RecordRepository gera para as Specifications da busca de registros.
+// Os valores dos filtros vão inline no SQL (value_handling_mode=inline) para o EXPLAIN enxergar o padrão do LIKE.
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {"MAIL_SENDER=almoxarifado@test.com", "MAIL_PASSWORD=test",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ufrn.nei.almoxarifadoapi.repository.CapturedSql",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"})
+@Transactional
+class RecordSearchIndexTest {
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private RecordRepository recordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        // Com as tabelas vazias o planner preferiria seq scan; desligado, o plano mostra se há índice utilizável.
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    @DisplayName("Busca por prefixo do código SIPAC usa o índice text_pattern_ops")
+    public void testSipacCodePrefixUsesIndex() {
+        String plan = explain(RecordSpecifications.itemSipacCodeMatches(2024L, false));
+
+        assertTrue(plan.contains("itens_codigo_sipac_texto_prefix_idx"), plan);
+    }
+
+    @Test
+    @DisplayName("Busca por trecho do código SIPAC usa o índice trigram")
+    public void testSipacCodeInfixUsesTrigramIndex() {
+        String plan = explain(RecordSpecifications.itemSipacCodeMatches(2024L, true));
+
+        assertTrue(plan.contains("itens_codigo_sipac_texto_trgm_idx"), plan);
+    }
+
+    @Test
+    @DisplayName("Busca por nome do usuário usa o índice trigram")
+    public void testUserNameUsesTrigramIndex() {
+        String plan = explain(RecordSpecifications.userNameContains("Maria"));
+
+        assertTrue(plan.contains("usuarios_nome_trgm_idx"), plan);
+    }
+
+    // Executa a busca pelo mesmo método do RecordService (sem paginação, para não haver parâmetros
+    // de limite) e faz o EXPLAIN do SELECT que o Hibernate enviou ao banco.
+    private String explain(Specification<RecordEntity> specification) {
+        CapturedSql.clear();
+        recordRepository.findAll(specification, Pageable.unpaged());
+        String sql = CapturedSql.lastSelect();
+
+        assertNotNull(sql);
+        assertFalse(sql.contains("?"), sql);
+
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
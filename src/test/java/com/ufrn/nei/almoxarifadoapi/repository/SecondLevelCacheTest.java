@@ -0,0 +1,90 @@
+package com.ufrn.nei.almoxarifadoapi.repository;
+
+import com.ufrn.nei.almoxarifadoapi.entity.RoleEntity;
+import com.ufrn.nei.almoxarifadoapi.entity.UserEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Sem a transação única do @DataJpaTest: o cache READ_WRITE não entrega a uma transação o que
+// foi guardado durante ela, então cada login precisa da sua, como nas requisições reais.
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+    private static final int LOGINS = 10;
+    private static final String EMAIL = "maria@ufrn.br";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            UserEntity user = new UserEntity();
+            user.setName("Maria");
+            user.setEmail(EMAIL);
+            user.setPassword("senha");
+            user.setRole(roleRepository.save(new RoleEntity(null, "ROLE_USER")));
+            userRepository.save(user);
+        });
+
+        entityManagerFactory.getCache().evictAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    // Os dados foram commitados; remove para não afetar os outros testes que usam o mesmo banco
+    @AfterEach
+    public void cleanup() {
+        transaction.executeWithoutResult(status -> {
+            userRepository.deleteAll();
+            roleRepository.deleteAll();
+        });
+    }
+
+    @Test
+    @DisplayName("A role do usuário é buscada no banco uma única vez em vários logins")
+    public void testRoleLoadedOnceAcrossLogins() {
+        for (int i = 0; i < LOGINS; i++) {
+            // Mesmo caminho do JwtUserDetailsService: busca por email e lê a role, cada login em
+            // uma transação (e sessão) nova
+            transaction.executeWithoutResult(status -> {
+                UserEntity user = userRepository.findByEmail(EMAIL).orElseThrow();
+                assertEquals("ROLE_USER", user.getRole().getRole());
+            });
+        }
+
+        assertEquals(1, statistics.getEntityStatistics(RoleEntity.class.getName()).getLoadCount());
+        assertEquals(LOGINS - 1, statistics.getDomainDataRegionStatistics("roles").getHitCount());
+    }
+}
@@ -4,6 +4,7 @@ import com.ufrn.nei.almoxarifadoapi.dto.role.RoleCreateDto;
 import com.ufrn.nei.almoxarifadoapi.dto.role.RoleUpdateDto;
 import com.ufrn.nei.almoxarifadoapi.entity.RoleEntity;
 import com.ufrn.nei.almoxarifadoapi.repository.RoleRepository;
+import com.ufrn.nei.almoxarifadoapi.repository.projection.RoleProjection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,6 +15,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
@@ -79,25 +81,26 @@ class RoleServiceTest {
     @DisplayName("Teste para encontrar todas as roles cadastradas")
     @Transactional(readOnly = true)
     void testFindAllRoles() {
-        // Criar uma lista paginada com a entidade de papel
-        Page<RoleEntity> mockPage = new PageImpl<>(Collections.singletonList(role));
+        // Criar uma lista paginada com a projeção da role
+        RoleProjection projection = new SpelAwareProxyProjectionFactory().createProjection(RoleProjection.class, role);
+        Page<RoleProjection> mockPage = new PageImpl<>(Collections.singletonList(projection));
 
         // Configurar o mock para retornar a lista paginada
-        when(roleRepository.findAll(any(Pageable.class))).thenReturn(mockPage);
+        when(roleRepository.findAllPageable(any(Pageable.class))).thenReturn(mockPage);
 
         // Chamar o método do serviço
-        Page<RoleEntity> rolePage = roleService.findAllRoles(PageRequest.of(0, 10));
+        Page<RoleProjection> rolePage = roleService.findAllRoles(PageRequest.of(0, 10));
 
         // Verificar se o método do repositório foi chamado
-        verify(roleRepository, times(1)).findAll(any(Pageable.class));
+        verify(roleRepository, times(1)).findAllPageable(any(Pageable.class));
 
         // Verificar se a lista não é nula
         assertNotNull(rolePage);
 
-        // Verificar se os valores da primeira entidade na lista correspondem aos valores esperados
-        RoleEntity roleEntity = rolePage.getContent().get(0);
-        assertEquals(role.getId(), roleEntity.getId());
-        assertEquals(role.getRole(), roleEntity.getRole());
+        // Verificar se os valores da primeira projeção na lista correspondem aos valores esperados
+        RoleProjection roleProjection = rolePage.getContent().get(0);
+        assertEquals(role.getId(), roleProjection.getId());
+        assertEquals(role.getRole(), roleProjection.getRole());
     }
 
     @Test
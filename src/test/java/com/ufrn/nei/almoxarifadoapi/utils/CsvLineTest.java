@@ -0,0 +1,34 @@
+package com.ufrn.nei.almoxarifadoapi.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvLineTest {
+    @Test
+    @DisplayName("Separador dentro de aspas faz parte do campo")
+    void quotedSeparatorTest() {
+        assertEquals(List.of("Caneta, azul", "123", "10", "Unidade"),
+                CsvLine.split("\"Caneta, azul\",123,10,Unidade", ','));
+        assertEquals(List.of("Papel; A4", "", "5", "Resma"),
+                CsvLine.split("\"Papel; A4\";;5;Resma", ';'));
+    }
+
+    @Test
+    @DisplayName("Aspas duplicadas viram uma aspa e espaços nas pontas são removidos")
+    void escapedQuoteTest() {
+        assertEquals(List.of("Pasta \"A-Z\"", "7", "2", "Unidade"),
+                CsvLine.split(" \"Pasta \"\"A-Z\"\"\" ; 7 ; 2 ; Unidade ", ';'));
+    }
+
+    @Test
+    @DisplayName("Ponto e vírgula fora de aspas tem preferência sobre a vírgula")
+    void detectSeparatorTest() {
+        assertEquals(';', CsvLine.detectSeparator("Caneta, azul;123;10;Unidade"));
+        assertEquals(',', CsvLine.detectSeparator("\"Papel; A4\",,5,Resma"));
+        assertEquals(',', CsvLine.detectSeparator("nome,codigo_sipac,quantidade,tipo"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.ufrn.nei.almoxarifadoapi.utils;
+
+import com.ufrn.nei.almoxarifadoapi.enums.RequestStatusEnum;
+import com.ufrn.nei.almoxarifadoapi.exception.InvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorCodecTest {
+    @Test
+    @DisplayName("Cursor com enum da ordenação é restaurado com o mesmo valor")
+    void enumRoundTripTest() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("status", RequestStatusEnum.PENDENTE);
+        keys.put("id", 42L);
+
+        ScrollPosition position = CursorCodec.decode(CursorCodec.encode(ScrollPosition.forward(keys)));
+
+        assertEquals(keys, ((KeysetScrollPosition) position).getKeys());
+    }
+
+    @Test
+    @DisplayName("Cursor com classe fora da lista de enums é rejeitado")
+    void unknownEnumTest() {
+        String cursor = Base64.getUrlEncoder().encodeToString(
+                "{\"status\":[\"E\",\"java.lang.Thread$State#NEW\"]}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.decode(cursor));
+    }
+
+    @Test
+    @DisplayName("Ordenação por coluna que aceita nulo é recusada no modo cursor")
+    void nullableSortTest() {
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.seekSort(Sort.by("sipacCode")));
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.seekSort(Sort.by("item.sipacCode")));
+        assertEquals(Sort.by("name", "id"), CursorCodec.seekSort(Sort.by("name")));
+    }
+}
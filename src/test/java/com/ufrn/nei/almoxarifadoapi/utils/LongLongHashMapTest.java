@@ -0,0 +1,59 @@
+package com.ufrn.nei.almoxarifadoapi.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongLongHashMapTest {
+    @Test
+    @DisplayName("Insere, atualiza e remove chaves, incluindo a chave 0")
+    void putGetRemoveTest() {
+        LongLongHashMap map = new LongLongHashMap();
+
+        map.put(0L, 10L);
+        map.put(23065012L, 1L);
+        map.put(23065012L, 2L);
+
+        assertEquals(2, map.size());
+        assertEquals(10L, map.get(0L, -1L));
+        assertEquals(2L, map.get(23065012L, -1L));
+        assertEquals(-1L, map.get(99L, -1L));
+
+        assertTrue(map.remove(0L));
+        assertTrue(map.remove(23065012L));
+        assertFalse(map.remove(23065012L));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Mantém o mesmo conteúdo de um HashMap após crescer e remover entradas")
+    void matchesHashMapTest() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(20_000);
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                map.put(key, i);
+                expected.put(key, (long) i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 20_000; key++) {
+            assertEquals(expected.getOrDefault(key, -1L), map.get(key, -1L));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+    }
+}